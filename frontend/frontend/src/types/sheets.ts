@@ -26,10 +26,12 @@ export type CharacterSheet = {
   attacks: string
   gear: string
   profileImage: string
+  profileThumbnail?: string
   gp: number
   sp: number
   cp: number
   createdAt?: string
+  version?: number
 }
 
 export type MonsterSheet = {
@@ -50,10 +52,12 @@ export type MonsterSheet = {
   attacks: string
   gear: string
   profileImage: string
+  profileThumbnail?: string
   gp: number
   sp: number
   cp: number
   createdAt?: string
+  version?: number
 }
 
 export type SheetRecord = CharacterSheet | MonsterSheet
@@ -0,0 +1,66 @@
+package com.example.survivorio.benchmark;
+
+import com.example.survivorio.cache.BoundedCache;
+import com.example.survivorio.dice.DiceExpression;
+import com.example.survivorio.service.DiceService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DiceBenchmark {
+    private final SplittableRandom random = new SplittableRandom();
+    private DiceExpression weapon;
+    private DiceExpression compound;
+    private DiceExpression abilityScore;
+    private DiceService diceService;
+
+    @Setup
+    public void setUp() {
+        weapon = DiceExpression.parse("1d8+2");
+        compound = DiceExpression.parse("2d6+1d4+3");
+        abilityScore = DiceExpression.parse("4d6kh3");
+        diceService = new DiceService(new BoundedCache<>(1000, Duration.ofHours(1)), 1000, 200);
+    }
+
+    @Benchmark
+    public int rollWeapon() {
+        return weapon.roll(random);
+    }
+
+    @Benchmark
+    public int rollCompound() {
+        return compound.roll(random);
+    }
+
+    @Benchmark
+    public int rollKeepHighest() {
+        return abilityScore.roll(random);
+    }
+
+    @Benchmark
+    public int rollWithThreadLocalRandom() {
+        return weapon.roll(ThreadLocalRandom.current());
+    }
+
+    @Benchmark
+    public DiceExpression parse() {
+        return DiceExpression.parse("2d6+1d4+3");
+    }
+
+    @Benchmark
+    public DiceExpression compileCached() {
+        return diceService.compile("2d6 + 1d4 + 3");
+    }
+}
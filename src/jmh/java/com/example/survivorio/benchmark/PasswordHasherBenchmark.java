@@ -0,0 +1,43 @@
+package com.example.survivorio.benchmark;
+
+import com.example.survivorio.service.PasswordHasher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PasswordHasherBenchmark {
+    private PasswordHasher passwordHasher;
+    private String storedHash;
+
+    @Setup
+    public void setUp() {
+        passwordHasher = new PasswordHasher(0, 64, Duration.ofSeconds(30));
+        storedHash = passwordHasher.hash("correct horse battery staple");
+    }
+
+    @TearDown
+    public void tearDown() {
+        passwordHasher.shutdown();
+    }
+
+    @Benchmark
+    public String hash() {
+        return passwordHasher.hash("correct horse battery staple");
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return passwordHasher.verify("correct horse battery staple", storedHash);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.survivorio.benchmark;
+
+import com.example.survivorio.entity.Character;
+import com.example.survivorio.entity.Monster;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.SplittableRandom;
+
+final class SheetFixtures {
+    private static final String JOURNAL_LINE = "The party crossed the marsh, lost two torches and found the drowned chapel. ";
+
+    private SheetFixtures() {
+    }
+
+    static List<Character> characters(int count, boolean inlineImages) {
+        SplittableRandom random = new SplittableRandom(7);
+        List<Character> characters = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            Character character = new Character();
+            character.setId((long) i + 1);
+            character.setName("Hero " + i);
+            character.setGender(i % 2 == 0 ? "male" : "female");
+            character.setAncestry("Half-elf");
+            character.setClassName("Ranger");
+            character.setLevel(1 + random.nextInt(10));
+            character.setXp(random.nextInt(5000));
+            character.setStr(8 + random.nextInt(10));
+            character.setDex(8 + random.nextInt(10));
+            character.setCon(8 + random.nextInt(10));
+            character.setIntel(8 + random.nextInt(10));
+            character.setWis(8 + random.nextInt(10));
+            character.setCha(8 + random.nextInt(10));
+            character.setHp(10 + random.nextInt(40));
+            character.setAc(12 + random.nextInt(6));
+            character.setTitle("Warden of the North Road");
+            character.setAlignment("Neutral");
+            character.setBackground("Outlander");
+            character.setDeity("Gede");
+            character.setTalentsSpells("Hunter's mark, cure wounds");
+            character.setJournal(JOURNAL_LINE.repeat(50));
+            character.setAttacks("Longbow +5 (1d8+3), Shortsword +5 (1d6+3)");
+            character.setGear("Longbow, 40 arrows, shortsword, rope, rations");
+            character.setProfileImage(profileImage(i, inlineImages));
+            character.setGp(random.nextInt(200));
+            character.setSp(random.nextInt(200));
+            character.setCp(random.nextInt(200));
+            character.setCreatedAt(Instant.parse("2024-05-01T12:00:00Z"));
+            characters.add(character);
+        }
+        return characters;
+    }
+
+    static List<Monster> monsters(int count, boolean inlineImages) {
+        SplittableRandom random = new SplittableRandom(11);
+        List<Monster> monsters = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            Monster monster = new Monster();
+            monster.setId((long) i + 1);
+            monster.setName("Ghoul " + i);
+            monster.setType("Undead");
+            monster.setArmorClass(12 + random.nextInt(6));
+            monster.setHitPoints(10 + random.nextInt(80));
+            monster.setChallenge("1");
+            monster.setNotes("Paralyzing claws. Immune to poison.");
+            monster.setStr(8 + random.nextInt(10));
+            monster.setDex(8 + random.nextInt(10));
+            monster.setCon(8 + random.nextInt(10));
+            monster.setIntel(8 + random.nextInt(10));
+            monster.setWis(8 + random.nextInt(10));
+            monster.setCha(8 + random.nextInt(10));
+            monster.setAttacks("Claws +4 (2d4+2), Bite +2 (2d6+2)");
+            monster.setGear("Tattered shroud");
+            monster.setProfileImage(profileImage(i, inlineImages));
+            monster.setCreatedAt(Instant.parse("2024-05-01T12:00:00Z"));
+            monsters.add(monster);
+        }
+        return monsters;
+    }
+
+    private static String profileImage(int seed, boolean inline) {
+        if (!inline) {
+            return "/api/images/" + String.format("%064x", seed) + ".png";
+        }
+
+        byte[] image = new byte[48 * 1024];
+        new SplittableRandom(seed).nextBytes(image);
+        System.arraycopy(new byte[] {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'}, 0, image, 0, 8);
+        return "data:image/png;base64," + Base64.getEncoder().encodeToString(image);
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.survivorio.benchmark;
+
+import com.example.survivorio.entity.Character;
+import com.example.survivorio.entity.Monster;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SheetJsonBenchmark {
+    private static final TypeReference<List<Character>> CHARACTER_LIST = new TypeReference<>() {
+    };
+    private static final TypeReference<List<Monster>> MONSTER_LIST = new TypeReference<>() {
+    };
+
+    @Param({"25", "250"})
+    public int sheets;
+
+    @Param({"false", "true"})
+    public boolean inlineImages;
+
+    private ObjectMapper mapper;
+    private List<Character> characters;
+    private List<Monster> monsters;
+    private byte[] characterJson;
+    private byte[] monsterJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = JsonMapper.builder().findAndAddModules().build();
+        characters = SheetFixtures.characters(sheets, inlineImages);
+        monsters = SheetFixtures.monsters(sheets, inlineImages);
+        characterJson = mapper.writeValueAsBytes(characters);
+        monsterJson = mapper.writeValueAsBytes(monsters);
+    }
+
+    @Benchmark
+    public byte[] serializeCharacters() throws IOException {
+        return mapper.writeValueAsBytes(characters);
+    }
+
+    @Benchmark
+    public byte[] serializeMonsters() throws IOException {
+        return mapper.writeValueAsBytes(monsters);
+    }
+
+    @Benchmark
+    public List<Character> deserializeCharacters() throws IOException {
+        return mapper.readValue(characterJson, CHARACTER_LIST);
+    }
+
+    @Benchmark
+    public List<Monster> deserializeMonsters() throws IOException {
+        return mapper.readValue(monsterJson, MONSTER_LIST);
+    }
+}
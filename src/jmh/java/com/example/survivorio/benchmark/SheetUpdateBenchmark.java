@@ -0,0 +1,63 @@
+package com.example.survivorio.benchmark;
+
+import com.example.survivorio.entity.AppUser;
+import com.example.survivorio.entity.Character;
+import com.example.survivorio.entity.Monster;
+import com.example.survivorio.repository.CharacterRepository;
+import com.example.survivorio.repository.MonsterRepository;
+import com.example.survivorio.service.CharacterService;
+import com.example.survivorio.service.ImageStore;
+import com.example.survivorio.service.MonsterService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SheetUpdateBenchmark {
+    private final AppUser owner = new AppUser();
+
+    private CharacterService characterService;
+    private MonsterService monsterService;
+    private Character characterData;
+    private Monster monsterData;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        ApplicationEventPublisher events = event -> {
+        };
+        ImageStore imageStore = new ImageStore(Files.createTempDirectory("jmh-images").toString(), "", events);
+
+        Character existingCharacter = SheetFixtures.characters(1, false).get(0);
+        Monster existingMonster = SheetFixtures.monsters(1, false).get(0);
+        characterService = new CharacterService(
+                StubRepositories.returning(CharacterRepository.class, existingCharacter), imageStore, mapper, events);
+        monsterService = new MonsterService(
+                StubRepositories.returning(MonsterRepository.class, existingMonster), imageStore, mapper, events);
+
+        characterData = SheetFixtures.characters(2, false).get(1);
+        monsterData = SheetFixtures.monsters(2, false).get(1);
+    }
+
+    @Benchmark
+    public Character updateCharacter() {
+        return characterService.update(owner, 1L, characterData, null);
+    }
+
+    @Benchmark
+    public Monster updateMonster() {
+        return monsterService.update(owner, 1L, monsterData, null);
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.survivorio.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+
+final class StubRepositories {
+    private StubRepositories() {
+    }
+
+    static <T> T returning(Class<T> repositoryType, Object existing) {
+        Object proxy = Proxy.newProxyInstance(
+                repositoryType.getClassLoader(),
+                new Class<?>[] {repositoryType},
+                (instance, method, args) -> switch (method.getName()) {
+                    case "findByIdAndOwner" -> Optional.of(existing);
+                    case "save" -> args[0];
+                    case "hashCode" -> System.identityHashCode(instance);
+                    case "equals" -> instance == args[0];
+                    case "toString" -> repositoryType.getSimpleName();
+                    default -> throw new UnsupportedOperationException(method.getName());
+                }
+        );
+        return repositoryType.cast(proxy);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.survivorio.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+final class ApiClient {
+    private final URI baseUri;
+    private final HttpClient http;
+    private final ObjectMapper mapper;
+    private final LatencyRecorder recorder;
+
+    ApiClient(URI baseUri, HttpClient http, ObjectMapper mapper, LatencyRecorder recorder) {
+        this.baseUri = baseUri;
+        this.http = http;
+        this.mapper = mapper;
+        this.recorder = recorder;
+    }
+
+    Response register(String username, String password) {
+        return send("POST /api/auth/register", "POST", "/api/auth/register", null,
+                Map.of("username", username, "password", password));
+    }
+
+    Response login(String username, String password) {
+        return send("POST /api/auth/login", "POST", "/api/auth/login", null,
+                Map.of("username", username, "password", password));
+    }
+
+    Response get(String endpoint, String path, String token) {
+        return send(endpoint, "GET", path, token, null);
+    }
+
+    Response send(String endpoint, String method, String path, String token, Object body) {
+        return send(endpoint, method, path, token, body, null);
+    }
+
+    Response send(String endpoint, String method, String path, String token, Object body, String ifMatch) {
+        long started = System.nanoTime();
+        try {
+            HttpRequest.Builder request = HttpRequest.newBuilder(baseUri.resolve(path))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Accept", "application/json");
+            if (token != null) {
+                request.header("Authorization", "Bearer " + token);
+            }
+            if (ifMatch != null) {
+                request.header("If-Match", ifMatch);
+            }
+            if (body == null) {
+                request.method(method, HttpRequest.BodyPublishers.noBody());
+            } else {
+                request.header("Content-Type", "application/json")
+                        .method(method, HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body)));
+            }
+
+            HttpResponse<byte[]> response = http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            recorder.record(endpoint, System.nanoTime() - started, response.statusCode() < 400);
+
+            byte[] content = response.body();
+            JsonNode json = content.length == 0 ? null : mapper.readTree(content);
+            return new Response(response.statusCode(), json);
+        } catch (IOException exception) {
+            recorder.record(endpoint, System.nanoTime() - started, false);
+            return new Response(-1, null);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return new Response(-1, null);
+        }
+    }
+
+    record Response(int status, JsonNode body) {
+        boolean ok() {
+            return status >= 200 && status < 400;
+        }
+
+        String token() {
+            return ok() && body != null ? body.path("token").asText(null) : null;
+        }
+    }
+}
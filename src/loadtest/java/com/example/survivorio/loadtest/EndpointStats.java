@@ -0,0 +1,13 @@
+package com.example.survivorio.loadtest;
+
+public record EndpointStats(
+        String endpoint,
+        long requests,
+        long errors,
+        double throughputPerSecond,
+        double p50Millis,
+        double p95Millis,
+        double p99Millis,
+        double maxMillis
+) {
+}
@@ -0,0 +1,70 @@
+package com.example.survivorio.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+final class LatencyRecorder {
+    private final Map<String, Samples> samples = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long nanos, boolean ok) {
+        samples.computeIfAbsent(endpoint, ignored -> new Samples()).add(nanos, ok);
+    }
+
+    void reset() {
+        samples.clear();
+    }
+
+    List<EndpointStats> snapshot(Duration elapsed) {
+        double seconds = elapsed.toNanos() / 1_000_000_000.0;
+        List<EndpointStats> stats = new ArrayList<>();
+
+        samples.forEach((endpoint, endpointSamples) -> stats.add(endpointSamples.stats(endpoint, seconds)));
+        stats.sort(Comparator.comparing(EndpointStats::endpoint));
+        return stats;
+    }
+
+    private static final class Samples {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        synchronized void add(long nanos, boolean ok) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        synchronized EndpointStats stats(String endpoint, double seconds) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+
+            return new EndpointStats(
+                    endpoint,
+                    count,
+                    errors,
+                    seconds > 0 ? count / seconds : 0,
+                    percentile(sorted, 0.50),
+                    percentile(sorted, 0.95),
+                    percentile(sorted, 0.99),
+                    sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1_000_000.0
+            );
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+        }
+    }
+}
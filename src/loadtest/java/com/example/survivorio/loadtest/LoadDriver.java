@@ -0,0 +1,38 @@
+package com.example.survivorio.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+final class LoadDriver {
+    private LoadDriver() {
+    }
+
+    static void setUp(List<SheetWorkload> workloads) throws InterruptedException, ExecutionException {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> pending = new ArrayList<>();
+            workloads.forEach(workload -> pending.add(executor.submit(workload::setUp)));
+            for (Future<?> future : pending) {
+                future.get();
+            }
+        }
+    }
+
+    static void run(List<SheetWorkload> workloads, Duration duration) {
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (SheetWorkload workload : workloads) {
+                executor.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        workload.step();
+                    }
+                });
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.survivorio.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class LoadTestSuite {
+    private LoadTestSuite() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int users = Integer.getInteger("loadtest.users", 32);
+        int sheets = Integer.getInteger("loadtest.sheets", 25);
+        Duration warmup = Duration.ofSeconds(Integer.getInteger("loadtest.warmupSeconds", 10));
+        Duration duration = Duration.ofSeconds(Integer.getInteger("loadtest.durationSeconds", 30));
+        boolean virtualThreads = Boolean.getBoolean("loadtest.virtualThreads");
+        Path output = Path.of(System.getProperty("loadtest.output", "build/reports/loadtest/load-test.json"));
+
+        Thresholds thresholds = Thresholds.load("loadtest-thresholds.properties");
+        ObjectMapper mapper = new ObjectMapper();
+        List<EndpointStats> stats;
+
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+             ConfigurableApplicationContext application = SheetBenchmark.start(
+                     virtualThreads,
+                     "spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                     "spring.datasource.username=postgres",
+                     "spring.datasource.password=postgres",
+                     "survivorio.images.dir=" + Files.createTempDirectory("loadtest-images")
+             )) {
+            int port = ((WebServerApplicationContext) application).getWebServer().getPort();
+            stats = SheetBenchmark.measure(URI.create("http://localhost:" + port), mapper, "loadtest", users, sheets, warmup, duration);
+        }
+
+        SheetBenchmark.print(virtualThreads ? "virtual threads" : "platform threads", stats);
+        List<String> violations = thresholds.violations(stats);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("virtualThreads", virtualThreads);
+        report.put("users", users);
+        report.put("durationSeconds", duration.toSeconds());
+        report.put("endpoints", stats);
+        report.put("violations", violations);
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        mapper.writerWithDefaultPrettyPrinter().writeValue(output.toFile(), report);
+        System.out.println("Wrote " + output.toAbsolutePath());
+
+        if (!violations.isEmpty()) {
+            System.err.println();
+            System.err.println("Load test thresholds crossed:");
+            violations.forEach(violation -> System.err.println("  " + violation));
+            System.exit(1);
+        }
+        System.exit(0);
+    }
+}
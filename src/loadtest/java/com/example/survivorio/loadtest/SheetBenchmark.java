@@ -0,0 +1,107 @@
+package com.example.survivorio.loadtest;
+
+import com.example.survivorio.SurvivorIoApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class SheetBenchmark {
+    private SheetBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int users = Integer.getInteger("benchmark.users", 64);
+        int sheets = Integer.getInteger("benchmark.sheets", 25);
+        Duration warmup = Duration.ofSeconds(Integer.getInteger("benchmark.warmupSeconds", 10));
+        Duration duration = Duration.ofSeconds(Integer.getInteger("benchmark.durationSeconds", 30));
+        List<String> modes = List.of(System.getProperty("benchmark.modes", "platform,virtual").split(","));
+        Path output = Path.of(System.getProperty("benchmark.output", "build/reports/benchmark/sheet-benchmark.json"));
+
+        ObjectMapper mapper = new ObjectMapper();
+        Map<String, List<EndpointStats>> results = new LinkedHashMap<>();
+
+        for (String mode : modes) {
+            try (ConfigurableApplicationContext application = start(mode.trim().equals("virtual"))) {
+                int port = ((WebServerApplicationContext) application).getWebServer().getPort();
+                results.put(mode.trim(), measure(URI.create("http://localhost:" + port), mapper, mode.trim(), users, sheets, warmup, duration));
+            }
+        }
+
+        results.forEach(SheetBenchmark::print);
+
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        mapper.writerWithDefaultPrettyPrinter().writeValue(output.toFile(), results);
+        System.out.println("Wrote " + output.toAbsolutePath());
+    }
+
+    static ConfigurableApplicationContext start(boolean virtualThreads, String... properties) {
+        List<String> arguments = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN"
+        ));
+        for (String property : properties) {
+            arguments.add("--" + property);
+        }
+
+        return new SpringApplicationBuilder(SurvivorIoApplication.class).run(arguments.toArray(String[]::new));
+    }
+
+    static List<EndpointStats> measure(
+            URI baseUri,
+            ObjectMapper mapper,
+            String runName,
+            int users,
+            int sheets,
+            Duration warmup,
+            Duration duration
+    ) throws Exception {
+        LatencyRecorder recorder = new LatencyRecorder();
+        HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        ApiClient client = new ApiClient(baseUri, http, mapper, recorder);
+
+        String prefix = runName + "-" + System.currentTimeMillis() + "-";
+        List<SheetWorkload> workloads = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            workloads.add(new SheetWorkload(client, prefix + i, sheets, i));
+        }
+
+        LoadDriver.setUp(workloads);
+        LoadDriver.run(workloads, warmup);
+        recorder.reset();
+
+        long started = System.nanoTime();
+        LoadDriver.run(workloads, duration);
+        return recorder.snapshot(Duration.ofNanos(System.nanoTime() - started));
+    }
+
+    static void print(String runName, List<EndpointStats> stats) {
+        System.out.println();
+        System.out.println("== " + runName);
+        System.out.printf("%-32s %9s %7s %10s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (EndpointStats endpoint : stats) {
+            System.out.printf("%-32s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    endpoint.endpoint(),
+                    endpoint.requests(),
+                    endpoint.errors(),
+                    endpoint.throughputPerSecond(),
+                    endpoint.p50Millis(),
+                    endpoint.p95Millis(),
+                    endpoint.p99Millis(),
+                    endpoint.maxMillis());
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.survivorio.loadtest;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+final class SheetWorkload {
+    private static final String PASSWORD = "load-test-password";
+    private static final String ANY_VERSION = "*";
+
+    private final ApiClient client;
+    private final String username;
+    private final int seedSheets;
+    private final SplittableRandom random;
+    private final List<Long> characterIds = new ArrayList<>();
+    private final List<Long> monsterIds = new ArrayList<>();
+
+    private String token;
+    private int registrations;
+
+    SheetWorkload(ApiClient client, String username, int seedSheets, long seed) {
+        this.client = client;
+        this.username = username;
+        this.seedSheets = Math.max(1, seedSheets);
+        this.random = new SplittableRandom(seed);
+    }
+
+    void setUp() {
+        token = client.register(username, PASSWORD).token();
+        if (token == null) {
+            throw new IllegalStateException("Could not register " + username);
+        }
+
+        for (int i = 0; i < seedSheets; i++) {
+            create("POST /api/characters", "/api/characters", character(i), characterIds);
+            create("POST /api/monsters", "/api/monsters", monster(i), monsterIds);
+        }
+    }
+
+    void step() {
+        int roll = random.nextInt(100);
+
+        if (roll < 1) {
+            client.register(username + "-extra-" + registrations++, PASSWORD);
+        } else if (roll < 4) {
+            String renewed = client.login(username, PASSWORD).token();
+            if (renewed != null) {
+                token = renewed;
+            }
+        } else if (roll < 6) {
+            client.get("GET /api/auth/me", "/api/auth/me", token);
+        } else if (roll < 40) {
+            client.get("GET /api/characters", "/api/characters", token);
+        } else if (roll < 46) {
+            client.get("GET /api/monsters", "/api/monsters", token);
+        } else if (roll < 52) {
+            client.get("GET /api/sheets", "/api/sheets", token);
+        } else if (roll < 62) {
+            client.get("GET /api/characters/summaries", "/api/characters/summaries", token);
+        } else if (roll < 68) {
+            client.get("GET /api/characters/page", "/api/characters/page?size=20", token);
+        } else if (roll < 76) {
+            client.get("GET /api/characters/{id}", "/api/characters/" + any(characterIds), token);
+        } else if (roll < 88) {
+            client.send("PUT /api/characters/{id}", "PUT", "/api/characters/" + any(characterIds), token,
+                    character(random.nextInt(1000)), ANY_VERSION);
+        } else if (roll < 93) {
+            client.send("PUT /api/monsters/{id}", "PUT", "/api/monsters/" + any(monsterIds), token,
+                    monster(random.nextInt(1000)), ANY_VERSION);
+        } else {
+            Long id = create("POST /api/characters", "/api/characters", character(characterIds.size()), characterIds);
+            if (id != null) {
+                characterIds.remove(id);
+                client.send("DELETE /api/characters/{id}", "DELETE", "/api/characters/" + id, token, null, ANY_VERSION);
+            }
+        }
+    }
+
+    private Long create(String endpoint, String path, Map<String, Object> sheet, List<Long> ids) {
+        ApiClient.Response response = client.send(endpoint, "POST", path, token, sheet);
+        if (!response.ok() || response.body() == null) {
+            return null;
+        }
+
+        long id = response.body().path("id").asLong();
+        ids.add(id);
+        return id;
+    }
+
+    private long any(List<Long> ids) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    private Map<String, Object> character(int number) {
+        Map<String, Object> sheet = new LinkedHashMap<>();
+        sheet.put("name", "Hero " + number);
+        sheet.put("gender", number % 2 == 0 ? "male" : "female");
+        sheet.put("ancestry", "Elf");
+        sheet.put("className", "Wizard");
+        sheet.put("level", 1 + number % 10);
+        sheet.put("str", 10);
+        sheet.put("dex", 14);
+        sheet.put("con", 12);
+        sheet.put("intel", 17);
+        sheet.put("wis", 12);
+        sheet.put("cha", 9);
+        sheet.put("hp", 12);
+        sheet.put("ac", 13);
+        sheet.put("attacks", "Dagger +4 (1d4+2)");
+        sheet.put("gear", "Spellbook, dagger, rations");
+        sheet.put("journal", "Session notes ".repeat(40));
+        return sheet;
+    }
+
+    private Map<String, Object> monster(int number) {
+        Map<String, Object> sheet = new LinkedHashMap<>();
+        sheet.put("name", "Goblin " + number);
+        sheet.put("type", "Humanoid");
+        sheet.put("armorClass", 15);
+        sheet.put("hitPoints", 7);
+        sheet.put("challenge", "1/4");
+        sheet.put("attacks", "Scimitar +4 (1d6+2)");
+        sheet.put("notes", "Nimble escape");
+        return sheet;
+    }
+}
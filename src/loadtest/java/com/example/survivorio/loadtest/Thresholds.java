@@ -0,0 +1,58 @@
+package com.example.survivorio.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+final class Thresholds {
+    private final Properties limits;
+
+    private Thresholds(Properties limits) {
+        this.limits = limits;
+    }
+
+    static Thresholds load(String resource) throws IOException {
+        Properties limits = new Properties();
+        try (InputStream input = Thresholds.class.getClassLoader().getResourceAsStream(resource)) {
+            if (input == null) {
+                throw new IOException("Missing threshold file " + resource);
+            }
+            limits.load(input);
+        }
+
+        for (String name : System.getProperties().stringPropertyNames()) {
+            if (name.startsWith("loadtest.threshold.")) {
+                limits.setProperty(name.substring("loadtest.threshold.".length()), System.getProperty(name));
+            }
+        }
+        return new Thresholds(limits);
+    }
+
+    List<String> violations(List<EndpointStats> stats) {
+        List<String> violations = new ArrayList<>();
+        double maxErrorRate = Double.parseDouble(limits.getProperty("max-error-rate", "0.01"));
+        double minThroughput = Double.parseDouble(limits.getProperty("min-throughput", "0"));
+        double throughput = 0;
+
+        for (EndpointStats endpoint : stats) {
+            throughput += endpoint.throughputPerSecond();
+
+            double maxP99 = Double.parseDouble(limits.getProperty(endpoint.endpoint(), limits.getProperty("default", "250")));
+            if (endpoint.p99Millis() > maxP99) {
+                violations.add(String.format("%s p99 %.1f ms exceeds %.1f ms", endpoint.endpoint(), endpoint.p99Millis(), maxP99));
+            }
+
+            double errorRate = endpoint.requests() == 0 ? 0 : (double) endpoint.errors() / endpoint.requests();
+            if (errorRate > maxErrorRate) {
+                violations.add(String.format("%s error rate %.3f exceeds %.3f", endpoint.endpoint(), errorRate, maxErrorRate));
+            }
+        }
+
+        if (throughput < minThroughput) {
+            violations.add(String.format("total throughput %.1f req/s is below %.1f req/s", throughput, minThroughput));
+        }
+        return violations;
+    }
+}
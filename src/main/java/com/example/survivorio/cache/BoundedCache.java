@@ -0,0 +1,186 @@
+package com.example.survivorio.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+public class BoundedCache<K, V> {
+    private final int maxEntries;
+    private final long maxWeight;
+    private final ToLongFunction<? super V> weigher;
+    private final Duration ttl;
+    private final Clock clock;
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public BoundedCache(int maxEntries, Duration ttl) {
+        this(maxEntries, ttl, Clock.systemUTC());
+    }
+
+    public BoundedCache(int maxEntries, Duration ttl, Clock clock) {
+        this(maxEntries, Long.MAX_VALUE, value -> 0, ttl, clock);
+    }
+
+    public BoundedCache(int maxEntries, long maxWeight, ToLongFunction<? super V> weigher, Duration ttl) {
+        this(maxEntries, maxWeight, weigher, ttl, Clock.systemUTC());
+    }
+
+    public BoundedCache(int maxEntries, long maxWeight, ToLongFunction<? super V> weigher, Duration ttl, Clock clock) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        if (maxWeight < 1) {
+            throw new IllegalArgumentException("maxWeight must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    public Optional<V> get(K key) {
+        Instant now = clock.instant();
+
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry == null) {
+                misses.incrementAndGet();
+                return Optional.empty();
+            }
+            if (!entry.expiresAt().isAfter(now)) {
+                remove(key);
+                evictions.incrementAndGet();
+                misses.incrementAndGet();
+                return Optional.empty();
+            }
+
+            hits.incrementAndGet();
+            return Optional.of(entry.value());
+        }
+    }
+
+    public boolean contains(K key) {
+        Instant now = clock.instant();
+
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            return entry != null && entry.expiresAt().isAfter(now);
+        }
+    }
+
+    public void put(K key, V value) {
+        put(key, value, clock.instant().plus(ttl));
+    }
+
+    public void put(K key, V value, Instant expiresAt) {
+        Instant capped = min(expiresAt, clock.instant().plus(ttl));
+        long valueWeight = weigher.applyAsLong(value);
+
+        synchronized (entries) {
+            if (valueWeight > maxWeight) {
+                remove(key);
+                return;
+            }
+            Entry<V> previous = entries.put(key, new Entry<>(value, capped, valueWeight));
+            weight += valueWeight - (previous == null ? 0 : previous.weight());
+            if (entries.size() > maxEntries || weight > maxWeight) {
+                evictEldest();
+            }
+        }
+    }
+
+    public Optional<V> take(K key) {
+        Instant now = clock.instant();
+
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            remove(key);
+            if (entry == null || !entry.expiresAt().isAfter(now)) {
+                misses.incrementAndGet();
+                return Optional.empty();
+            }
+
+            hits.incrementAndGet();
+            return Optional.of(entry.value());
+        }
+    }
+
+    public void invalidate(K key) {
+        synchronized (entries) {
+            remove(key);
+        }
+    }
+
+    public void invalidateIf(Predicate<? super K> condition) {
+        synchronized (entries) {
+            Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<K, Entry<V>> entry = iterator.next();
+                if (condition.test(entry.getKey())) {
+                    weight -= entry.getValue().weight();
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+            weight = 0;
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long weight() {
+        synchronized (entries) {
+            return weight;
+        }
+    }
+
+    public CacheStats stats() {
+        synchronized (entries) {
+            return new CacheStats(hits.get(), misses.get(), evictions.get(), entries.size(), weight);
+        }
+    }
+
+    private void remove(K key) {
+        Entry<V> removed = entries.remove(key);
+        if (removed != null) {
+            weight -= removed.weight();
+        }
+    }
+
+    private void evictEldest() {
+        Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || weight > maxWeight) && iterator.hasNext()) {
+            weight -= iterator.next().getValue().weight();
+            iterator.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    private static Instant min(Instant first, Instant second) {
+        return first.isBefore(second) ? first : second;
+    }
+
+    private record Entry<V>(V value, Instant expiresAt, long weight) {
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.survivorio.cache;
+
+public record CacheStats(long hits, long misses, long evictions, int size, long weight) {
+    public double hitRatio() {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+}
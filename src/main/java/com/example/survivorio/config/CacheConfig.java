@@ -0,0 +1,49 @@
+package com.example.survivorio.config;
+
+import com.example.survivorio.cache.BoundedCache;
+import com.example.survivorio.dice.DiceExpression;
+import com.example.survivorio.entity.AppUser;
+import com.example.survivorio.service.JsonSnapshot;
+import com.example.survivorio.service.SheetListCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Configuration
+public class CacheConfig {
+    @Bean
+    public BoundedCache<String, AppUser> sessionCache(
+            @Value("${survivorio.auth.session-cache.max-entries:10000}") int maxEntries,
+            @Value("${survivorio.auth.session-cache.ttl:5m}") Duration ttl
+    ) {
+        return new BoundedCache<>(maxEntries, ttl);
+    }
+
+    @Bean
+    public BoundedCache<String, Long> sheetEventTickets(
+            @Value("${survivorio.sheets.events.ticket.max-entries:10000}") int maxEntries,
+            @Value("${survivorio.sheets.events.ticket.ttl:30s}") Duration ttl
+    ) {
+        return new BoundedCache<>(maxEntries, ttl);
+    }
+
+    @Bean
+    public BoundedCache<String, DiceExpression> diceExpressions(
+            @Value("${survivorio.dice.cache.max-entries:1000}") int maxEntries,
+            @Value("${survivorio.dice.cache.ttl:1h}") Duration ttl
+    ) {
+        return new BoundedCache<>(maxEntries, ttl);
+    }
+
+    @Bean
+    public BoundedCache<SheetListCache.Key, JsonSnapshot> sheetListSnapshots(
+            @Value("${survivorio.sheets.list-cache.max-entries:2000}") int maxEntries,
+            @Value("${survivorio.sheets.list-cache.max-size:64MB}") DataSize maxSize,
+            @Value("${survivorio.sheets.list-cache.ttl:10m}") Duration ttl
+    ) {
+        return new BoundedCache<>(maxEntries, maxSize.toBytes(), JsonSnapshot::sizeInBytes, ttl);
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.survivorio.config;
+
+import com.example.survivorio.cache.BoundedCache;
+import com.example.survivorio.dice.DiceExpression;
+import com.example.survivorio.entity.AppUser;
+import com.example.survivorio.service.JsonSnapshot;
+import com.example.survivorio.service.PasswordHasher;
+import com.example.survivorio.service.SessionReaper;
+import com.example.survivorio.service.SheetEventBroadcaster;
+import com.example.survivorio.service.SheetListCache;
+import com.example.survivorio.service.TokenDenyList;
+import com.example.survivorio.simulation.EncounterSimulator;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.HibernateMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class MetricsConfig {
+    @Bean
+    public MeterBinder hibernateMetrics(EntityManagerFactory entityManagerFactory) {
+        return new HibernateMetrics(entityManagerFactory.unwrap(SessionFactory.class), "survivorio", Tags.empty());
+    }
+
+    @Bean
+    public TaskDecorator queryCountTaskDecorator() {
+        return QueryCountInspector::propagate;
+    }
+
+    @Bean
+    public MeterBinder passwordHasherMetrics(PasswordHasher passwordHasher) {
+        return registry -> {
+            FunctionTimer.builder("survivorio.auth.hash", passwordHasher,
+                            PasswordHasher::completedHashes, PasswordHasher::totalHashNanos, TimeUnit.NANOSECONDS)
+                    .description("PBKDF2 derivations")
+                    .register(registry);
+            Gauge.builder("survivorio.auth.hash.max", passwordHasher, hasher -> hasher.maxHashNanos() / 1_000_000.0)
+                    .description("Slowest PBKDF2 derivation")
+                    .baseUnit("milliseconds")
+                    .register(registry);
+            Gauge.builder("survivorio.auth.hash.queue", passwordHasher, PasswordHasher::queueDepth)
+                    .description("Hash requests waiting for a hasher thread")
+                    .register(registry);
+            Gauge.builder("survivorio.auth.hash.active", passwordHasher, PasswordHasher::activeHashes)
+                    .description("Hashes currently running")
+                    .register(registry);
+            FunctionCounter.builder("survivorio.auth.hash.rejected", passwordHasher, PasswordHasher::rejectedHashes)
+                    .description("Hash requests refused because the queue was full")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder sessionReaperMetrics(SessionReaper sessionReaper) {
+        return registry -> {
+            FunctionCounter.builder("survivorio.auth.sessions.purged", sessionReaper, SessionReaper::purgedSessions)
+                    .description("Expired sessions deleted by the reaper")
+                    .register(registry);
+            FunctionCounter.builder("survivorio.auth.sessions.reaper.runs", sessionReaper, SessionReaper::reaperRuns)
+                    .description("Completed reaper runs")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder tokenDenyListMetrics(TokenDenyList denyList) {
+        return registry -> Gauge.builder("survivorio.auth.deny-list.size", denyList, TokenDenyList::size)
+                .description("Revoked signed tokens held in memory")
+                .register(registry);
+    }
+
+    @Bean
+    public MeterBinder sheetEventMetrics(SheetEventBroadcaster sheetEvents) {
+        return registry -> Gauge.builder("survivorio.sheets.events.subscribers", sheetEvents, SheetEventBroadcaster::subscriberCount)
+                .description("Open sheet event streams")
+                .register(registry);
+    }
+
+    @Bean
+    public MeterBinder encounterSimulatorMetrics(EncounterSimulator simulator) {
+        return registry -> {
+            FunctionCounter.builder("survivorio.encounters.simulations", simulator, EncounterSimulator::completedSimulations)
+                    .description("Completed encounter simulations")
+                    .register(registry);
+            FunctionCounter.builder("survivorio.encounters.fights", simulator, EncounterSimulator::simulatedFights)
+                    .description("Simulated fights across all encounter simulations")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder sessionCacheMetrics(BoundedCache<String, AppUser> sessionCache) {
+        return registry -> bindCache(registry, "sessions", sessionCache);
+    }
+
+    @Bean
+    public MeterBinder sheetListCacheMetrics(BoundedCache<SheetListCache.Key, JsonSnapshot> sheetListSnapshots) {
+        return registry -> bindCache(registry, "sheet-lists", sheetListSnapshots);
+    }
+
+    @Bean
+    public MeterBinder diceExpressionCacheMetrics(BoundedCache<String, DiceExpression> diceExpressions) {
+        return registry -> bindCache(registry, "dice-expressions", diceExpressions);
+    }
+
+    static void bindCache(MeterRegistry registry, String name, BoundedCache<?, ?> cache) {
+        Tags tags = Tags.of("cache", name);
+        FunctionCounter.builder("survivorio.cache.gets", cache, c -> c.stats().hits())
+                .tags(tags).tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("survivorio.cache.gets", cache, c -> c.stats().misses())
+                .tags(tags).tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("survivorio.cache.evictions", cache, c -> c.stats().evictions())
+                .tags(tags)
+                .register(registry);
+        Gauge.builder("survivorio.cache.size", cache, BoundedCache::size)
+                .tags(tags)
+                .register(registry);
+        Gauge.builder("survivorio.cache.weight", cache, BoundedCache::weight)
+                .tags(tags)
+                .description("Total weight of cached values; bytes for serialized caches")
+                .register(registry);
+        Gauge.builder("survivorio.cache.hit.ratio", cache, c -> c.stats().hitRatio())
+                .tags(tags)
+                .register(registry);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.survivorio.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class QueryCountInspector implements StatementInspector {
+    private static final ThreadLocal<AtomicInteger> COUNTER = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        AtomicInteger counter = COUNTER.get();
+        if (counter != null) {
+            counter.incrementAndGet();
+        }
+        return sql;
+    }
+
+    public static AtomicInteger start() {
+        AtomicInteger counter = new AtomicInteger();
+        COUNTER.set(counter);
+        return counter;
+    }
+
+    public static void clear() {
+        COUNTER.remove();
+    }
+
+    public static Runnable propagate(Runnable task) {
+        AtomicInteger counter = COUNTER.get();
+        if (counter == null) {
+            return task;
+        }
+        return () -> {
+            AtomicInteger previous = COUNTER.get();
+            COUNTER.set(counter);
+            try {
+                task.run();
+            } finally {
+                if (previous == null) {
+                    COUNTER.remove();
+                } else {
+                    COUNTER.set(previous);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.survivorio.controller;
+
+import com.example.survivorio.dto.DiceBulkRollRequest;
+import com.example.survivorio.dto.DiceRollRequest;
+import com.example.survivorio.dto.DiceRollResult;
+import com.example.survivorio.service.AuthService;
+import com.example.survivorio.service.DiceService;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@CrossOrigin(origins = "*")
+@RestController
+@RequestMapping("/api/dice")
+public class DiceController {
+    private final DiceService diceService;
+    private final AuthService authService;
+
+    public DiceController(DiceService diceService, AuthService authService) {
+        this.diceService = diceService;
+        this.authService = authService;
+    }
+
+    @PostMapping("/roll")
+    public DiceRollResult roll(
+            @RequestHeader(value = "Authorization", required = false) String authorizationHeader,
+            @RequestBody DiceRollRequest request
+    ) {
+        authService.requireUser(authorizationHeader);
+        return diceService.roll(request);
+    }
+
+    @PostMapping("/roll/bulk")
+    public List<DiceRollResult> rollAll(
+            @RequestHeader(value = "Authorization", required = false) String authorizationHeader,
+            @RequestBody DiceBulkRollRequest request
+    ) {
+        authService.requireUser(authorizationHeader);
+        return diceService.rollAll(request);
+    }
+}
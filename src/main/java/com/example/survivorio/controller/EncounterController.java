@@ -0,0 +1,35 @@
+package com.example.survivorio.controller;
+
+import com.example.survivorio.dto.EncounterRequest;
+import com.example.survivorio.dto.EncounterResult;
+import com.example.survivorio.entity.AppUser;
+import com.example.survivorio.service.AuthService;
+import com.example.survivorio.service.EncounterService;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@CrossOrigin(origins = "*")
+@RestController
+@RequestMapping("/api/encounters")
+public class EncounterController {
+    private final EncounterService encounterService;
+    private final AuthService authService;
+
+    public EncounterController(EncounterService encounterService, AuthService authService) {
+        this.encounterService = encounterService;
+        this.authService = authService;
+    }
+
+    @PostMapping("/simulate")
+    public EncounterResult simulate(
+            @RequestHeader(value = "Authorization", required = false) String authorizationHeader,
+            @RequestBody EncounterRequest request
+    ) {
+        AppUser user = authService.requireUser(authorizationHeader);
+        return encounterService.simulate(user, request);
+    }
+}
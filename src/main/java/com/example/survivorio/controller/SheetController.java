@@ -1,35 +1,185 @@
 package com.example.survivorio.controller;
 
+import com.example.survivorio.dto.CharacterSummary;
+import com.example.survivorio.dto.MonsterSummary;
+import com.example.survivorio.dto.SheetBulkRequest;
+import com.example.survivorio.dto.SheetBulkResult;
+import com.example.survivorio.dto.SheetEventTicket;
+import com.example.survivorio.dto.SheetPage;
+import com.example.survivorio.dto.SheetSearchHit;
+import com.example.survivorio.dto.SheetType;
 import com.example.survivorio.entity.AppUser;
 import com.example.survivorio.entity.Character;
 import com.example.survivorio.entity.Monster;
 import com.example.survivorio.service.AuthService;
 import com.example.survivorio.service.CharacterService;
 import com.example.survivorio.service.MonsterService;
+import com.example.survivorio.service.SheetEventBroadcaster;
+import com.example.survivorio.service.SheetEventTickets;
+import com.example.survivorio.service.SheetListCache;
+import com.example.survivorio.service.SheetSearchService;
+import com.example.survivorio.service.SheetVersionService;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.function.LongFunction;
+import java.util.regex.Pattern;
 
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = HttpHeaders.ETAG)
 @RestController
 @RequestMapping("/api")
 public class SheetController {
+    private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+    private static final Pattern VERSION_ETAG = Pattern.compile("\"\\d{1,18}\"");
 
     private final CharacterService characterService;
     private final MonsterService monsterService;
     private final AuthService authService;
+    private final SheetVersionService sheetVersions;
+    private final SheetListCache sheetListCache;
+    private final SheetSearchService sheetSearch;
+    private final SheetEventBroadcaster sheetEvents;
+    private final SheetEventTickets sheetEventTickets;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final boolean requireIfMatch;
+    private final int maxBulkSize;
 
-    public SheetController(CharacterService characterService, MonsterService monsterService, AuthService authService) {
+    public SheetController(
+            CharacterService characterService,
+            MonsterService monsterService,
+            AuthService authService,
+            SheetVersionService sheetVersions,
+            SheetListCache sheetListCache,
+            SheetSearchService sheetSearch,
+            SheetEventBroadcaster sheetEvents,
+            SheetEventTickets sheetEventTickets,
+            @Value("${survivorio.sheets.page-size:50}") int defaultPageSize,
+            @Value("${survivorio.sheets.max-page-size:200}") int maxPageSize,
+            @Value("${survivorio.sheets.require-if-match:true}") boolean requireIfMatch,
+            @Value("${survivorio.sheets.max-bulk-size:5000}") int maxBulkSize
+    ) {
         this.characterService = characterService;
         this.monsterService = monsterService;
         this.authService = authService;
+        this.sheetVersions = sheetVersions;
+        this.sheetListCache = sheetListCache;
+        this.sheetSearch = sheetSearch;
+        this.sheetEvents = sheetEvents;
+        this.sheetEventTickets = sheetEventTickets;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.requireIfMatch = requireIfMatch;
+        this.maxBulkSize = maxBulkSize;
+    }
+
+    @GetMapping("/sheets")
+    public ResponseEntity<StreamingResponseBody> getSheets(
+            @RequestHeader(value = "Authorization", required = false) String authorizationHeader,
+            WebRequest request
+    ) {
+        AppUser user = authService.requireUser(authorizationHeader);
+        long charactersVersion = sheetVersions.current(user, SheetType.CHARACTER);
+        long monstersVersion = sheetVersions.current(user, SheetType.MONSTER);
+        String etag = "\"sheets-" + user.getId() + "-" + charactersVersion + "-" + monstersVersion + "\"";
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
+        SheetListCache.Key characters = SheetListCache.key(user, SheetType.CHARACTER, SheetListCache.Format.RECORD, charactersVersion);
+        SheetListCache.Key monsters = SheetListCache.key(user, SheetType.MONSTER, SheetListCache.Format.RECORD, monstersVersion);
+        sheetListCache.preload(user, characters, monsters);
+        StreamingResponseBody body = out -> sheetListCache.writeArray(out, user, characters, monsters);
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    @GetMapping("/sheets/search")
+    public SheetPage<SheetSearchHit> searchSheets(
+            @RequestHeader(value = "Authorization", required = false) String authorizationHeader,
+            @RequestParam("q") String query,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        AppUser user = authService.requireUser(authorizationHeader);
+        return sheetSearch.search(user, query, cursor, pageSize(size));
+    }
+
+    @PostMapping("/sheets/events/ticket")
+    public SheetEventTicket sheetEventTicket(
+            @RequestHeader(value = "Authorization", required = false) String authorizationHeader
+    ) {
+        AppUser user = authService.requireUser(authorizationHeader);
+        return new SheetEventTicket(sheetEventTickets.issue(user.getId()));
+    }
+
+    @GetMapping(value = "/sheets/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter sheetEvents(
+            @RequestHeader(value = "Authorization", required = false) String authorizationHeader,
+            @RequestParam(required = false) String ticket
+    ) {
+        Long ownerId = ticket != null
+                ? sheetEventTickets.redeem(ticket)
+                : authService.requireUser(authorizationHeader).getId();
+        return sheetEvents.subscribe(ownerId);
     }
 
     @GetMapping("/characters")
-    public List<Character> getCharacters(@RequestHeader(value = "Authorization", required = false) String authorizationHeader) {
+    public ResponseEntity<StreamingResponseBody> getCharacters(
+            @RequestHeader(value = "Authorization", required = false) String authorizationHeader,
+            WebRequest request
+    ) {
         AppUser user = authService.requireUser(authorizationHeader);
-        return characterService.getAll(user);
+        return conditional(request, "characters", user, SheetType.CHARACTER,
+                version -> plainArray(user, SheetType.CHARACTER, version));
+    }
+
+    @GetMapping("/characters/page")
+    public SheetPage<Character> getCharacterPage(
+            @RequestHeader(value = "Authorization", required = false) String authorizationHeader,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        AppUser user = authService.requireUser(authorizationHeader);
+        return characterService.getPage(user, cursor, pageSize(size));
+    }
+
+    @GetMapping("/characters/summaries")
+    public ResponseEntity<List<CharacterSummary>> getCharacterSummaries(
+            @RequestHeader(value = "Authorization", required = false) String authorizationHeader,
+            WebRequest request
+    ) {
+        AppUser user = authService.requireUser(authorizationHeader);
+        return conditional(request, "character-summaries", user, SheetType.CHARACTER, version -> characterService.getSummaries(user));
+    }
+
+    @GetMapping("/characters/{id}")
+    public ResponseEntity<Character> getCharacter(
+            @RequestHeader(value = "Authorization", required = false) String authorizationHeader,
+            @PathVariable Long id,
+            WebRequest request
+    ) {
+        AppUser user = authService.requireUser(authorizationHeader);
+        Character character = characterService.get(user, id);
+        if (request.checkNotModified(etag(character.getVersion()))) {
+            return null;
+        }
+        return versioned(character, character.getVersion());
     }
 
     @PostMapping("/characters")
@@ -41,30 +191,92 @@ public class SheetController {
         return characterService.create(user, character);
     }
 
+    @PostMapping("/characters/bulk")
+    public SheetBulkResult<Character> bulkCharacters(
+            @RequestHeader(value = "Authorization", required = false) String authorizationHeader,
+            @RequestBody SheetBulkRequest<Character> request
+    ) {
+        AppUser user = authService.requireUser(authorizationHeader);
+        requireBulkSize(request);
+        return characterService.bulk(user, request);
+    }
+
     @PutMapping("/characters/{id}")
-    public Character updateCharacter(
+    public ResponseEntity<Character> updateCharacter(
             @RequestHeader(value = "Authorization", required = false) String authorizationHeader,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @PathVariable Long id,
             @RequestBody Character character
     ) {
         AppUser user = authService.requireUser(authorizationHeader);
-        return characterService.update(user, id, character);
+        Character updated = characterService.update(user, id, character, expectedVersion(ifMatch));
+        return versioned(updated, updated.getVersion());
+    }
+
+    @PatchMapping(value = "/characters/{id}", consumes = {MERGE_PATCH_JSON, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Character> patchCharacter(
+            @RequestHeader(value = "Authorization", required = false) String authorizationHeader,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @PathVariable Long id,
+            @RequestBody JsonNode patch
+    ) {
+        AppUser user = authService.requireUser(authorizationHeader);
+        Character patched = characterService.patch(user, id, patch, expectedVersion(ifMatch));
+        return versioned(patched, patched.getVersion());
     }
 
     @DeleteMapping("/characters/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void deleteCharacter(
             @RequestHeader(value = "Authorization", required = false) String authorizationHeader,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @PathVariable Long id
     ) {
         AppUser user = authService.requireUser(authorizationHeader);
-        characterService.delete(user, id);
+        characterService.delete(user, id, expectedVersion(ifMatch));
     }
 
     @GetMapping("/monsters")
-    public List<Monster> getMonsters(@RequestHeader(value = "Authorization", required = false) String authorizationHeader) {
+    public ResponseEntity<StreamingResponseBody> getMonsters(
+            @RequestHeader(value = "Authorization", required = false) String authorizationHeader,
+            WebRequest request
+    ) {
+        AppUser user = authService.requireUser(authorizationHeader);
+        return conditional(request, "monsters", user, SheetType.MONSTER,
+                version -> plainArray(user, SheetType.MONSTER, version));
+    }
+
+    @GetMapping("/monsters/page")
+    public SheetPage<Monster> getMonsterPage(
+            @RequestHeader(value = "Authorization", required = false) String authorizationHeader,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        AppUser user = authService.requireUser(authorizationHeader);
+        return monsterService.getPage(user, cursor, pageSize(size));
+    }
+
+    @GetMapping("/monsters/summaries")
+    public ResponseEntity<List<MonsterSummary>> getMonsterSummaries(
+            @RequestHeader(value = "Authorization", required = false) String authorizationHeader,
+            WebRequest request
+    ) {
         AppUser user = authService.requireUser(authorizationHeader);
-        return monsterService.getAll(user);
+        return conditional(request, "monster-summaries", user, SheetType.MONSTER, version -> monsterService.getSummaries(user));
+    }
+
+    @GetMapping("/monsters/{id}")
+    public ResponseEntity<Monster> getMonster(
+            @RequestHeader(value = "Authorization", required = false) String authorizationHeader,
+            @PathVariable Long id,
+            WebRequest request
+    ) {
+        AppUser user = authService.requireUser(authorizationHeader);
+        Monster monster = monsterService.get(user, id);
+        if (request.checkNotModified(etag(monster.getVersion()))) {
+            return null;
+        }
+        return versioned(monster, monster.getVersion());
     }
 
     @PostMapping("/monsters")
@@ -76,23 +288,120 @@ public class SheetController {
         return monsterService.create(user, monster);
     }
 
+    @PostMapping("/monsters/bulk")
+    public SheetBulkResult<Monster> bulkMonsters(
+            @RequestHeader(value = "Authorization", required = false) String authorizationHeader,
+            @RequestBody SheetBulkRequest<Monster> request
+    ) {
+        AppUser user = authService.requireUser(authorizationHeader);
+        requireBulkSize(request);
+        return monsterService.bulk(user, request);
+    }
+
     @PutMapping("/monsters/{id}")
-    public Monster updateMonster(
+    public ResponseEntity<Monster> updateMonster(
             @RequestHeader(value = "Authorization", required = false) String authorizationHeader,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @PathVariable Long id,
             @RequestBody Monster monster
     ) {
         AppUser user = authService.requireUser(authorizationHeader);
-        return monsterService.update(user, id, monster);
+        Monster updated = monsterService.update(user, id, monster, expectedVersion(ifMatch));
+        return versioned(updated, updated.getVersion());
+    }
+
+    @PatchMapping(value = "/monsters/{id}", consumes = {MERGE_PATCH_JSON, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Monster> patchMonster(
+            @RequestHeader(value = "Authorization", required = false) String authorizationHeader,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @PathVariable Long id,
+            @RequestBody JsonNode patch
+    ) {
+        AppUser user = authService.requireUser(authorizationHeader);
+        Monster patched = monsterService.patch(user, id, patch, expectedVersion(ifMatch));
+        return versioned(patched, patched.getVersion());
     }
 
     @DeleteMapping("/monsters/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void deleteMonster(
             @RequestHeader(value = "Authorization", required = false) String authorizationHeader,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @PathVariable Long id
     ) {
         AppUser user = authService.requireUser(authorizationHeader);
-        monsterService.delete(user, id);
+        monsterService.delete(user, id, expectedVersion(ifMatch));
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    @ResponseStatus(value = HttpStatus.PRECONDITION_FAILED, reason = "Sheet was changed by someone else")
+    public void concurrentUpdate() {
+    }
+
+    private int pageSize(Integer size) {
+        if (size == null) {
+            return defaultPageSize;
+        }
+        return Math.max(1, Math.min(size, maxPageSize));
+    }
+
+    private <T> ResponseEntity<T> conditional(
+            WebRequest request,
+            String representation,
+            AppUser user,
+            SheetType sheetType,
+            LongFunction<T> body
+    ) {
+        long version = sheetVersions.current(user, sheetType);
+        String etag = "\"" + representation + "-" + user.getId() + "-" + version + "\"";
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body.apply(version));
+    }
+
+    private StreamingResponseBody plainArray(AppUser user, SheetType sheetType, long version) {
+        SheetListCache.Key key = SheetListCache.key(user, sheetType, SheetListCache.Format.PLAIN, version);
+        return out -> sheetListCache.writeArray(out, user, key);
+    }
+
+    private void requireBulkSize(SheetBulkRequest<?> request) {
+        if (request.size() > maxBulkSize) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "At most " + maxBulkSize + " sheets per bulk request");
+        }
+    }
+
+    private Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            if (requireIfMatch) {
+                throw new ResponseStatusException(HttpStatus.PRECONDITION_REQUIRED, "If-Match header is required");
+            }
+            return null;
+        }
+
+        String value = ifMatch.trim();
+        if (value.equals("*")) {
+            return null;
+        }
+        if (VERSION_ETAG.matcher(value).matches()) {
+            return Long.parseLong(value.substring(1, value.length() - 1));
+        }
+        throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "If-Match does not match the current sheet");
+    }
+
+    private static <T> ResponseEntity<T> versioned(T sheet, Long version) {
+        return ResponseEntity.ok()
+                .eTag(etag(version))
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(sheet);
+    }
+
+    private static String etag(Long version) {
+        return "\"" + (version == null ? 0 : version) + "\"";
     }
 }
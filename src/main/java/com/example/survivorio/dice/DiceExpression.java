@@ -0,0 +1,275 @@
+package com.example.survivorio.dice;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+public final class DiceExpression {
+    public static final int MAX_LENGTH = 100;
+    static final int MAX_TERMS = 20;
+    static final int MAX_DICE = 100;
+    static final int MAX_SIDES = 1000;
+    static final int MAX_CONSTANT = 100_000;
+
+    private static final ThreadLocal<int[]> SCRATCH = ThreadLocal.withInitial(() -> new int[MAX_DICE * 2]);
+
+    private final String notation;
+    private final int[] signs;
+    private final int[] counts;
+    private final int[] sides;
+    private final int[] keep;
+    private final int constant;
+    private final int min;
+    private final int max;
+    private final double mean;
+
+    private DiceExpression(List<int[]> terms, int constant) {
+        int size = terms.size();
+        this.signs = new int[size];
+        this.counts = new int[size];
+        this.sides = new int[size];
+        this.keep = new int[size];
+        this.constant = constant;
+
+        int low = constant;
+        int high = constant;
+        double average = constant;
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < size; i++) {
+            int[] term = terms.get(i);
+            signs[i] = term[0];
+            counts[i] = term[1];
+            sides[i] = term[2];
+            keep[i] = term[3];
+
+            int kept = kept(i);
+            int termMin = kept;
+            int termMax = kept * sides[i];
+            low += signs[i] > 0 ? termMin : -termMax;
+            high += signs[i] > 0 ? termMax : -termMin;
+            average += signs[i] * expectedTerm(counts[i], sides[i], keep[i]);
+
+            if (i > 0 || signs[i] < 0) {
+                text.append(signs[i] > 0 ? "+" : "-");
+            }
+            text.append(counts[i]).append('d').append(sides[i]);
+            if (keep[i] != 0) {
+                text.append(keep[i] > 0 ? "kh" : "kl").append(Math.abs(keep[i]));
+            }
+        }
+        if (constant != 0 || size == 0) {
+            text.append(constant >= 0 && size > 0 ? "+" : "").append(constant);
+        }
+
+        this.min = low;
+        this.max = high;
+        this.mean = average;
+        this.notation = text.toString();
+    }
+
+    public static DiceExpression parse(String text) {
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("Dice expression is empty");
+        }
+        if (text.length() > MAX_LENGTH) {
+            throw new IllegalArgumentException("Dice expression is longer than " + MAX_LENGTH + " characters");
+        }
+        return new Parser(text).parse();
+    }
+
+    public int roll(RandomGenerator random) {
+        return roll(random, 1);
+    }
+
+    public int rollCritical(RandomGenerator random) {
+        return roll(random, 2);
+    }
+
+    public int min() {
+        return min;
+    }
+
+    public int max() {
+        return max;
+    }
+
+    public double mean() {
+        return mean;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof DiceExpression expression && notation.equals(expression.notation);
+    }
+
+    @Override
+    public int hashCode() {
+        return notation.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return notation;
+    }
+
+    private int roll(RandomGenerator random, int multiplier) {
+        int total = constant;
+        for (int i = 0; i < counts.length; i++) {
+            int dice = counts[i] * multiplier;
+            int bound = sides[i] + 1;
+            int sum = 0;
+            if (keep[i] == 0) {
+                for (int die = 0; die < dice; die++) {
+                    sum += random.nextInt(1, bound);
+                }
+            } else {
+                int[] rolls = SCRATCH.get();
+                for (int die = 0; die < dice; die++) {
+                    rolls[die] = random.nextInt(1, bound);
+                }
+                Arrays.sort(rolls, 0, dice);
+                int kept = Math.abs(keep[i]) * multiplier;
+                int from = keep[i] > 0 ? dice - kept : 0;
+                for (int die = from; die < from + kept; die++) {
+                    sum += rolls[die];
+                }
+            }
+            total += signs[i] * sum;
+        }
+        return total;
+    }
+
+    private int kept(int term) {
+        return keep[term] == 0 ? counts[term] : Math.abs(keep[term]);
+    }
+
+    private static double expectedTerm(int count, int sides, int keep) {
+        if (keep == 0) {
+            return count * (sides + 1) / 2.0;
+        }
+        if (keep < 0) {
+            return count * (sides + 1) / 2.0 - expectedHighest(count, sides, count + keep);
+        }
+        return expectedHighest(count, sides, keep);
+    }
+
+    private static double expectedHighest(int count, int sides, int keep) {
+        double expected = 0;
+        double[] exactly = new double[count + 1];
+        for (int face = 1; face <= sides; face++) {
+            double p = (sides - face + 1) / (double) sides;
+            Arrays.fill(exactly, 0);
+            exactly[0] = 1;
+            for (int die = 1; die <= count; die++) {
+                for (int hits = die; hits > 0; hits--) {
+                    exactly[hits] = exactly[hits] * (1 - p) + exactly[hits - 1] * p;
+                }
+                exactly[0] *= 1 - p;
+            }
+            for (int hits = 1; hits <= count; hits++) {
+                expected += exactly[hits] * Math.min(hits, keep);
+            }
+        }
+        return expected;
+    }
+
+    private static final class Parser {
+        private final String text;
+        private int position;
+
+        Parser(String text) {
+            this.text = text;
+        }
+
+        DiceExpression parse() {
+            List<int[]> terms = new ArrayList<>();
+            long constant = 0;
+            int dice = 0;
+            int sign = 1;
+            skipSpaces();
+            if (peek('+') || peek('-')) {
+                sign = text.charAt(position++) == '-' ? -1 : 1;
+            }
+
+            while (true) {
+                skipSpaces();
+                int count = peek('d') || peek('D') ? 1 : number("a number or die");
+                if (peek('d') || peek('D')) {
+                    position++;
+                    int faces;
+                    if (peek('%')) {
+                        position++;
+                        faces = 100;
+                    } else {
+                        faces = number("a die size");
+                    }
+                    int keep = keep(count);
+                    check(count >= 1 && count <= MAX_DICE, "Dice count must be between 1 and " + MAX_DICE);
+                    check(faces >= 1 && faces <= MAX_SIDES, "Die size must be between 1 and " + MAX_SIDES);
+                    check(terms.size() < MAX_TERMS, "Dice expression has more than " + MAX_TERMS + " dice terms");
+                    dice += count;
+                    check(dice <= MAX_DICE, "Dice expression rolls more than " + MAX_DICE + " dice");
+                    terms.add(new int[] {sign, count, faces, keep});
+                } else {
+                    constant += (long) sign * count;
+                    check(Math.abs(constant) <= MAX_CONSTANT, "Modifier must be at most " + MAX_CONSTANT);
+                }
+
+                skipSpaces();
+                if (position == text.length()) {
+                    return new DiceExpression(terms, (int) constant);
+                }
+                char operator = text.charAt(position++);
+                check(operator == '+' || operator == '-', "Unexpected '" + operator + "' at position " + position);
+                sign = operator == '-' ? -1 : 1;
+            }
+        }
+
+        private int keep(int count) {
+            if (!peek('k') && !peek('K')) {
+                return 0;
+            }
+            position++;
+            int direction = 1;
+            if (peek('l') || peek('L')) {
+                direction = -1;
+                position++;
+            } else if (peek('h') || peek('H')) {
+                position++;
+            }
+            int kept = number("the number of dice to keep");
+            check(kept >= 1 && kept <= count, "Can only keep between 1 and " + count + " dice");
+            return kept == count ? 0 : direction * kept;
+        }
+
+        private int number(String expected) {
+            int start = position;
+            while (position < text.length() && isDigit(text.charAt(position)) && position - start < 7) {
+                position++;
+            }
+            check(position > start, "Expected " + expected + " at position " + (start + 1));
+            return Integer.parseInt(text, start, position, 10);
+        }
+
+        private static boolean isDigit(char c) {
+            return c >= '0' && c <= '9';
+        }
+
+        private boolean peek(char expected) {
+            return position < text.length() && text.charAt(position) == expected;
+        }
+
+        private void skipSpaces() {
+            while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+                position++;
+            }
+        }
+
+        private static void check(boolean condition, String message) {
+            if (!condition) {
+                throw new IllegalArgumentException(message);
+            }
+        }
+    }
+}
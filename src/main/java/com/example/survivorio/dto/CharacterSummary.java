@@ -0,0 +1,17 @@
+package com.example.survivorio.dto;
+
+import java.time.Instant;
+
+public record CharacterSummary(
+        Long id,
+        String name,
+        String gender,
+        String className,
+        int level,
+        String profileImage,
+        Instant createdAt
+) {
+    public CharacterSummary withProfileImage(String profileImage) {
+        return new CharacterSummary(id, name, gender, className, level, profileImage, createdAt);
+    }
+}
@@ -0,0 +1,4 @@
+package com.example.survivorio.dto;
+
+public record CombatantOutcome(String sheetType, Long id, String name, double survivalRate, double expectedHpRemaining) {
+}
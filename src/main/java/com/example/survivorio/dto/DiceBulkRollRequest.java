@@ -0,0 +1,9 @@
+package com.example.survivorio.dto;
+
+import java.util.List;
+
+public record DiceBulkRollRequest(List<DiceRollRequest> rolls) {
+    public DiceBulkRollRequest {
+        rolls = rolls == null ? List.of() : rolls;
+    }
+}
@@ -0,0 +1,4 @@
+package com.example.survivorio.dto;
+
+public record DiceRollRequest(String label, String expression, Integer count) {
+}
@@ -0,0 +1,4 @@
+package com.example.survivorio.dto;
+
+public record DiceRollResult(String label, String expression, int[] rolls, long total, int min, int max, double mean) {
+}
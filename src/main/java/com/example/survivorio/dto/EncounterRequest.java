@@ -0,0 +1,16 @@
+package com.example.survivorio.dto;
+
+import java.util.List;
+
+public record EncounterRequest(
+        List<Long> characterIds,
+        List<Long> monsterIds,
+        Integer trials,
+        Integer maxRounds,
+        Long seed
+) {
+    public EncounterRequest {
+        characterIds = characterIds == null ? List.of() : characterIds;
+        monsterIds = monsterIds == null ? List.of() : monsterIds;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.survivorio.dto;
+
+import java.util.List;
+
+public record EncounterResult(
+        int trials,
+        boolean truncated,
+        long elapsedMillis,
+        double partyWinRate,
+        double monsterWinRate,
+        double drawRate,
+        double expectedRounds,
+        int roundsP50,
+        int roundsP90,
+        double[] partyHpRemaining,
+        double[] monsterHpRemaining,
+        List<CombatantOutcome> combatants
+) {
+}
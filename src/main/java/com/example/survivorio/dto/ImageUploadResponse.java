@@ -0,0 +1,4 @@
+package com.example.survivorio.dto;
+
+public record ImageUploadResponse(String reference) {
+}
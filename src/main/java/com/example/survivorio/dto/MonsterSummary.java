@@ -0,0 +1,16 @@
+package com.example.survivorio.dto;
+
+import java.time.Instant;
+
+public record MonsterSummary(
+        Long id,
+        String name,
+        String type,
+        String challenge,
+        String profileImage,
+        Instant createdAt
+) {
+    public MonsterSummary withProfileImage(String profileImage) {
+        return new MonsterSummary(id, name, type, challenge, profileImage, createdAt);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.survivorio.dto;
+
+import java.util.List;
+
+public record SheetBulkRequest<T>(List<T> create, List<T> update, List<Long> delete) {
+    public SheetBulkRequest {
+        create = create == null ? List.of() : create;
+        update = update == null ? List.of() : update;
+        delete = delete == null ? List.of() : delete;
+    }
+
+    public int size() {
+        return create.size() + update.size() + delete.size();
+    }
+}
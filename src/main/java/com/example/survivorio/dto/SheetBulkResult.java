@@ -0,0 +1,6 @@
+package com.example.survivorio.dto;
+
+import java.util.List;
+
+public record SheetBulkResult<T>(List<T> created, List<T> updated, int deleted) {
+}
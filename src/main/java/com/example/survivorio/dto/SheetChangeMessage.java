@@ -0,0 +1,4 @@
+package com.example.survivorio.dto;
+
+public record SheetChangeMessage(String sheetType, Long id, Object sheet) {
+}
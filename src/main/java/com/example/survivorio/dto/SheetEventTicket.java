@@ -0,0 +1,4 @@
+package com.example.survivorio.dto;
+
+public record SheetEventTicket(String ticket) {
+}
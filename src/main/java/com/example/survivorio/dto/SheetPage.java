@@ -0,0 +1,15 @@
+package com.example.survivorio.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record SheetPage<T>(List<T> items, String nextCursor) {
+    public static <T> SheetPage<T> of(List<T> rows, int limit, Function<T, String> cursorOf) {
+        if (rows.size() <= limit) {
+            return new SheetPage<>(rows, null);
+        }
+
+        List<T> items = rows.subList(0, limit);
+        return new SheetPage<>(items, cursorOf.apply(items.get(limit - 1)));
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.survivorio.dto;
+
+import java.time.Instant;
+
+public record SheetSearchHit(
+        String sheetType,
+        Long id,
+        String name,
+        String profileImage,
+        Instant createdAt,
+        double rank
+) {
+    public SheetSearchHit withProfileImage(String profileImage) {
+        return new SheetSearchHit(sheetType, id, name, profileImage, createdAt, rank);
+    }
+}
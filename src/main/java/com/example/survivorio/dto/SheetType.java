@@ -0,0 +1,16 @@
+package com.example.survivorio.dto;
+
+public enum SheetType {
+    CHARACTER("character"),
+    MONSTER("monster");
+
+    private final String value;
+
+    SheetType(String value) {
+        this.value = value;
+    }
+
+    public String value() {
+        return value;
+    }
+}
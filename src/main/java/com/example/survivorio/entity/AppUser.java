@@ -7,6 +7,8 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 
+import java.time.Instant;
+
 @Entity
 @Table(name = "app_users")
 public class AppUser {
@@ -20,7 +22,13 @@ public class AppUser {
     @Column(nullable = false, length = 512)
     private String passwordHash;
 
-    private String createdAt;
+    private Instant createdAt;
+
+    @Column(nullable = false)
+    private long charactersVersion;
+
+    @Column(nullable = false)
+    private long monstersVersion;
 
     public AppUser() {
     }
@@ -34,6 +42,12 @@ public class AppUser {
     public String getPasswordHash() { return passwordHash; }
     public void setPasswordHash(String passwordHash) { this.passwordHash = passwordHash; }
 
-    public String getCreatedAt() { return createdAt; }
-    public void setCreatedAt(String createdAt) { this.createdAt = createdAt; }
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+
+    public long getCharactersVersion() { return charactersVersion; }
+    public void setCharactersVersion(long charactersVersion) { this.charactersVersion = charactersVersion; }
+
+    public long getMonstersVersion() { return monstersVersion; }
+    public void setMonstersVersion(long monstersVersion) { this.monstersVersion = monstersVersion; }
 }
@@ -10,6 +10,8 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 
+import java.time.Instant;
+
 @Entity
 @Table(name = "auth_sessions")
 public class AuthSession {
@@ -24,7 +26,10 @@ public class AuthSession {
     @JoinColumn(name = "user_id", nullable = false)
     private AppUser user;
 
-    private String createdAt;
+    private Instant createdAt;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
 
     public AuthSession() {
     }
@@ -38,6 +43,9 @@ public class AuthSession {
     public AppUser getUser() { return user; }
     public void setUser(AppUser user) { this.user = user; }
 
-    public String getCreatedAt() { return createdAt; }
-    public void setCreatedAt(String createdAt) { this.createdAt = createdAt; }
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+
+    public Instant getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(Instant expiresAt) { this.expiresAt = expiresAt; }
 }
@@ -9,13 +9,20 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import org.hibernate.annotations.DynamicUpdate;
+
+import java.time.Instant;
 
 @Entity
+@DynamicUpdate
 @Table(name = "characters")
-public class Character {
+public class Character implements Sheet {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "characters_seq")
+    @SequenceGenerator(name = "characters_seq", sequenceName = "characters_seq", allocationSize = 50)
     private Long id;
     private String name;
     private String gender = "male";
@@ -54,7 +61,12 @@ public class Character {
     @JoinColumn(name = "owner_id")
     private AppUser owner;
 
-    private String createdAt;
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
 
     public Character() {
     }
@@ -84,7 +96,7 @@ public class Character {
             int gp,
             int sp,
             int cp,
-            String createdAt
+            Instant createdAt
     ) {
         this.id = id;
         this.name = name;
@@ -197,6 +209,9 @@ public class Character {
     public AppUser getOwner() { return owner; }
     public void setOwner(AppUser owner) { this.owner = owner; }
 
-    public String getCreatedAt() { return createdAt; }
-    public void setCreatedAt(String createdAt) { this.createdAt = createdAt; }
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
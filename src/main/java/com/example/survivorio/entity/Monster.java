@@ -9,13 +9,20 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import org.hibernate.annotations.DynamicUpdate;
+
+import java.time.Instant;
 
 @Entity
+@DynamicUpdate
 @Table(name = "monsters")
-public class Monster {
+public class Monster implements Sheet {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "monsters_seq")
+    @SequenceGenerator(name = "monsters_seq", sequenceName = "monsters_seq", allocationSize = 50)
     private Long id;
     private String name;
     private String type;
@@ -44,7 +51,12 @@ public class Monster {
     @JoinColumn(name = "owner_id")
     private AppUser owner;
 
-    private String createdAt;
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
 
     public Monster() {
     }
@@ -68,7 +80,7 @@ public class Monster {
             int gp,
             int sp,
             int cp,
-            String createdAt
+            Instant createdAt
     ) {
         this.id = id;
         this.name = name;
@@ -151,6 +163,9 @@ public class Monster {
     public AppUser getOwner() { return owner; }
     public void setOwner(AppUser owner) { this.owner = owner; }
 
-    public String getCreatedAt() { return createdAt; }
-    public void setCreatedAt(String createdAt) { this.createdAt = createdAt; }
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
@@ -0,0 +1,13 @@
+package com.example.survivorio.entity;
+
+import java.time.Instant;
+
+public interface Sheet {
+    Long getId();
+
+    String getProfileImage();
+
+    Instant getCreatedAt();
+
+    Long getVersion();
+}
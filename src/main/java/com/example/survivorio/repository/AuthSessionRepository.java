@@ -2,11 +2,38 @@ package com.example.survivorio.repository;
 
 import com.example.survivorio.entity.AuthSession;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.Optional;
 
 public interface AuthSessionRepository extends JpaRepository<AuthSession, Long> {
     Optional<AuthSession> findByToken(String token);
 
+    @Query("select s from AuthSession s join fetch s.user where s.token = :token")
+    Optional<AuthSession> findWithUserByToken(@Param("token") String token);
+
     void deleteByToken(String token);
+
+    @Transactional
+    @Modifying
+    @Query("update AuthSession s set s.expiresAt = :expiresAt where s.id = :id")
+    int renew(@Param("id") Long id, @Param("expiresAt") Instant expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            delete from auth_sessions
+            where id in (
+                select id from auth_sessions
+                where expires_at < :now
+                order by id
+                limit :batchSize
+                for update skip locked
+            )
+            """, nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") Instant now, @Param("batchSize") int batchSize);
 }
@@ -1,14 +1,47 @@
 package com.example.survivorio.repository;
 
+import com.example.survivorio.dto.CharacterSummary;
 import com.example.survivorio.entity.Character;
 import com.example.survivorio.entity.AppUser;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface CharacterRepository extends JpaRepository<Character, Long> {
     List<Character> findAllByOwnerOrderByCreatedAtDesc(AppUser owner);
 
+    List<Character> findAllByOwnerOrderByCreatedAtDescIdDesc(AppUser owner, Limit limit);
+
+    @Query("""
+            select c from Character c
+            where c.owner = :owner
+              and (c.createdAt < :createdAt or (c.createdAt = :createdAt and c.id < :id))
+            order by c.createdAt desc, c.id desc
+            """)
+    List<Character> findPageByOwnerAfter(
+            @Param("owner") AppUser owner,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") Long id,
+            Limit limit
+    );
+
+    @Query("""
+            select new com.example.survivorio.dto.CharacterSummary(c.id, c.name, c.gender, c.className, c.level, c.profileImage, c.createdAt)
+            from Character c
+            where c.owner = :owner
+            order by c.createdAt desc, c.id desc
+            """)
+    List<CharacterSummary> findSummariesByOwner(@Param("owner") AppUser owner);
+
     Optional<Character> findByIdAndOwner(Long id, AppUser owner);
+
+    List<Character> findAllByOwnerAndIdIn(AppUser owner, Collection<Long> ids);
+
+    List<Character> findTop50ByIdGreaterThanAndProfileImageStartingWithOrderByIdAsc(Long id, String prefix);
 }
@@ -1,14 +1,47 @@
 package com.example.survivorio.repository;
 
+import com.example.survivorio.dto.MonsterSummary;
 import com.example.survivorio.entity.AppUser;
 import com.example.survivorio.entity.Monster;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface MonsterRepository extends JpaRepository<Monster, Long> {
     List<Monster> findAllByOwnerOrderByCreatedAtDesc(AppUser owner);
 
+    List<Monster> findAllByOwnerOrderByCreatedAtDescIdDesc(AppUser owner, Limit limit);
+
+    @Query("""
+            select m from Monster m
+            where m.owner = :owner
+              and (m.createdAt < :createdAt or (m.createdAt = :createdAt and m.id < :id))
+            order by m.createdAt desc, m.id desc
+            """)
+    List<Monster> findPageByOwnerAfter(
+            @Param("owner") AppUser owner,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") Long id,
+            Limit limit
+    );
+
+    @Query("""
+            select new com.example.survivorio.dto.MonsterSummary(m.id, m.name, m.type, m.challenge, m.profileImage, m.createdAt)
+            from Monster m
+            where m.owner = :owner
+            order by m.createdAt desc, m.id desc
+            """)
+    List<MonsterSummary> findSummariesByOwner(@Param("owner") AppUser owner);
+
     Optional<Monster> findByIdAndOwner(Long id, AppUser owner);
+
+    List<Monster> findAllByOwnerAndIdIn(AppUser owner, Collection<Long> ids);
+
+    List<Monster> findTop50ByIdGreaterThanAndProfileImageStartingWithOrderByIdAsc(Long id, String prefix);
 }
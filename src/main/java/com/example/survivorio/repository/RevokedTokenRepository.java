@@ -0,0 +1,30 @@
+package com.example.survivorio.repository;
+
+import com.example.survivorio.entity.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+    @Query("select r.tokenId from RevokedToken r where r.expiresAt > :now")
+    List<Long> findActiveTokenIds(@Param("now") Instant now);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            insert into revoked_tokens (token_id, expires_at)
+            values (:tokenId, :expiresAt)
+            on conflict (token_id) do nothing
+            """, nativeQuery = true)
+    int revoke(@Param("tokenId") long tokenId, @Param("expiresAt") Instant expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RevokedToken r where r.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -2,6 +2,10 @@ package com.example.survivorio.repository;
 
 import com.example.survivorio.entity.AppUser;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -9,4 +13,20 @@ public interface UserRepository extends JpaRepository<AppUser, Long> {
     boolean existsByUsernameIgnoreCase(String username);
 
     Optional<AppUser> findByUsernameIgnoreCase(String username);
+
+    @Query("select u.charactersVersion from AppUser u where u.id = :id")
+    Optional<Long> findCharactersVersion(@Param("id") Long id);
+
+    @Query("select u.monstersVersion from AppUser u where u.id = :id")
+    Optional<Long> findMonstersVersion(@Param("id") Long id);
+
+    @Transactional
+    @Modifying
+    @Query("update AppUser u set u.charactersVersion = u.charactersVersion + 1 where u.id = :id")
+    int incrementCharactersVersion(@Param("id") Long id);
+
+    @Transactional
+    @Modifying
+    @Query("update AppUser u set u.monstersVersion = u.monstersVersion + 1 where u.id = :id")
+    int incrementMonstersVersion(@Param("id") Long id);
 }
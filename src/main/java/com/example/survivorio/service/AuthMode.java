@@ -0,0 +1,6 @@
+package com.example.survivorio.service;
+
+public enum AuthMode {
+    SESSION,
+    SIGNED
+}
@@ -1,5 +1,6 @@
 package com.example.survivorio.service;
 
+import com.example.survivorio.cache.BoundedCache;
 import com.example.survivorio.dto.AuthRequest;
 import com.example.survivorio.dto.AuthResponse;
 import com.example.survivorio.entity.AppUser;
@@ -7,30 +8,52 @@ import com.example.survivorio.entity.AuthSession;
 import com.example.survivorio.repository.AuthSessionRepository;
 import com.example.survivorio.repository.UserRepository;
 import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
-import javax.crypto.SecretKeyFactory;
-import javax.crypto.spec.PBEKeySpec;
+import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
-import java.security.SecureRandom;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
-import java.util.Base64;
+import java.util.HexFormat;
 import java.util.UUID;
 
 @Service
 public class AuthService {
-    private static final int ITERATIONS = 120_000;
-    private static final int KEY_LENGTH = 256;
-    private static final SecureRandom RANDOM = new SecureRandom();
-
     private final UserRepository userRepository;
     private final AuthSessionRepository sessionRepository;
-
-    public AuthService(UserRepository userRepository, AuthSessionRepository sessionRepository) {
+    private final BoundedCache<String, AppUser> sessionCache;
+    private final PasswordHasher passwordHasher;
+    private final Duration sessionTtl;
+    private final AuthMode mode;
+    private final SignedTokenCodec tokenCodec;
+    private final TokenDenyList denyList;
+    private final ApplicationEventPublisher events;
+
+    public AuthService(
+            UserRepository userRepository,
+            AuthSessionRepository sessionRepository,
+            BoundedCache<String, AppUser> sessionCache,
+            PasswordHasher passwordHasher,
+            @Value("${survivorio.auth.session-ttl:30d}") Duration sessionTtl,
+            @Value("${survivorio.auth.mode:session}") AuthMode mode,
+            SignedTokenCodec tokenCodec,
+            TokenDenyList denyList,
+            ApplicationEventPublisher events
+    ) {
         this.userRepository = userRepository;
         this.sessionRepository = sessionRepository;
+        this.sessionCache = sessionCache;
+        this.passwordHasher = passwordHasher;
+        this.sessionTtl = sessionTtl;
+        this.mode = mode;
+        this.tokenCodec = tokenCodec;
+        this.denyList = denyList;
+        this.events = events;
     }
 
     public AuthResponse register(AuthRequest request) {
@@ -49,8 +72,8 @@ public class AuthService {
 
         AppUser user = new AppUser();
         user.setUsername(username);
-        user.setPasswordHash(hashPassword(password));
-        user.setCreatedAt(Instant.now().toString());
+        user.setPasswordHash(passwordHasher.hash(password));
+        user.setCreatedAt(Instant.now());
 
         return createSession(userRepository.save(user));
     }
@@ -62,7 +85,7 @@ public class AuthService {
         AppUser user = userRepository.findByUsernameIgnoreCase(username)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid username or password"));
 
-        if (!verifyPassword(password, user.getPasswordHash())) {
+        if (!passwordHasher.verify(password, user.getPasswordHash())) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid username or password");
         }
 
@@ -71,10 +94,11 @@ public class AuthService {
 
     public AppUser requireUser(String authorizationHeader) {
         String token = readBearerToken(authorizationHeader);
+        if (mode == AuthMode.SIGNED) {
+            return principalOf(verifySigned(token));
+        }
 
-        return sessionRepository.findByToken(token)
-                .map(AuthSession::getUser)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Login required"));
+        return sessionCache.get(sessionKey(token)).orElseGet(() -> loadPrincipal(token));
     }
 
     public AuthResponse currentUser(String authorizationHeader) {
@@ -85,14 +109,80 @@ public class AuthService {
     @Transactional
     public void logout(String authorizationHeader) {
         String token = readBearerToken(authorizationHeader);
+        if (mode == AuthMode.SIGNED) {
+            SignedToken signed = verifySigned(token);
+            denyList.revoke(signed.tokenId(), signed.expiresAt());
+            events.publishEvent(new TokenRevokedEvent(signed.tokenId()));
+            return;
+        }
+
+        String key = sessionKey(token);
+        sessionCache.invalidate(key);
         sessionRepository.deleteByToken(token);
+        events.publishEvent(new SessionRevokedEvent(key));
+    }
+
+    static String sessionKey(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not available", exception);
+        }
+    }
+
+    private AppUser loadPrincipal(String token) {
+        Instant now = Instant.now();
+        AuthSession session = sessionRepository.findWithUserByToken(token)
+                .filter(candidate -> candidate.getExpiresAt().isAfter(now))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Login required"));
+
+        Instant expiresAt = session.getExpiresAt();
+        if (expiresAt.isBefore(now.plus(sessionTtl.dividedBy(2)))) {
+            expiresAt = now.plus(sessionTtl);
+            sessionRepository.renew(session.getId(), expiresAt);
+        }
+
+        AppUser principal = principalOf(session.getUser());
+        sessionCache.put(sessionKey(token), principal, expiresAt);
+        return principal;
+    }
+
+    private SignedToken verifySigned(String token) {
+        Instant now = Instant.now();
+        return tokenCodec.verify(token)
+                .filter(signed -> signed.expiresAt().isAfter(now))
+                .filter(signed -> !denyList.contains(signed.tokenId()))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Login required"));
+    }
+
+    private AppUser principalOf(SignedToken token) {
+        AppUser principal = new AppUser();
+        principal.setId(token.userId());
+        principal.setUsername(token.username());
+        return principal;
+    }
+
+    private AppUser principalOf(AppUser user) {
+        AppUser principal = new AppUser();
+        principal.setId(user.getId());
+        principal.setUsername(user.getUsername());
+        principal.setCreatedAt(user.getCreatedAt());
+        return principal;
     }
 
     private AuthResponse createSession(AppUser user) {
+        if (mode == AuthMode.SIGNED) {
+            String token = tokenCodec.issue(user.getId(), user.getUsername(), Instant.now().plus(sessionTtl));
+            return new AuthResponse(token, user.getUsername());
+        }
+
         AuthSession session = new AuthSession();
         session.setToken(UUID.randomUUID().toString() + UUID.randomUUID());
         session.setUser(user);
-        session.setCreatedAt(Instant.now().toString());
+        Instant now = Instant.now();
+        session.setCreatedAt(now);
+        session.setExpiresAt(now.plus(sessionTtl));
 
         AuthSession saved = sessionRepository.save(session);
         return new AuthResponse(saved.getToken(), user.getUsername());
@@ -118,40 +208,4 @@ public class AuthService {
     private String normalizePassword(String password) {
         return password == null ? "" : password;
     }
-
-    private String hashPassword(String password) {
-        byte[] salt = new byte[16];
-        RANDOM.nextBytes(salt);
-        byte[] hash = pbkdf2(password.toCharArray(), salt, ITERATIONS, KEY_LENGTH);
-
-        return ITERATIONS
-                + ":"
-                + Base64.getEncoder().encodeToString(salt)
-                + ":"
-                + Base64.getEncoder().encodeToString(hash);
-    }
-
-    private boolean verifyPassword(String password, String storedHash) {
-        String[] parts = storedHash.split(":");
-        if (parts.length != 3) {
-            return false;
-        }
-
-        int iterations = Integer.parseInt(parts[0]);
-        byte[] salt = Base64.getDecoder().decode(parts[1]);
-        byte[] expectedHash = Base64.getDecoder().decode(parts[2]);
-        byte[] actualHash = pbkdf2(password.toCharArray(), salt, iterations, expectedHash.length * 8);
-
-        return MessageDigest.isEqual(expectedHash, actualHash);
-    }
-
-    private byte[] pbkdf2(char[] password, byte[] salt, int iterations, int keyLength) {
-        try {
-            PBEKeySpec spec = new PBEKeySpec(password, salt, iterations, keyLength);
-            SecretKeyFactory factory = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256");
-            return factory.generateSecret(spec).getEncoded();
-        } catch (Exception exception) {
-            throw new IllegalStateException("Could not hash password", exception);
-        }
-    }
 }
@@ -1,42 +1,210 @@
 package com.example.survivorio.service;
 
+import com.example.survivorio.dto.CharacterSummary;
+import com.example.survivorio.dto.SheetBulkRequest;
+import com.example.survivorio.dto.SheetBulkResult;
+import com.example.survivorio.dto.SheetPage;
+import com.example.survivorio.dto.SheetType;
 import com.example.survivorio.entity.AppUser;
 import com.example.survivorio.entity.Character;
 import com.example.survivorio.repository.CharacterRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class CharacterService {
+    static final int FOR_EACH_CHUNK_SIZE = 200;
 
     private final CharacterRepository repo;
+    private final ImageStore imageStore;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher events;
 
-    public CharacterService(CharacterRepository repo) {
+    public CharacterService(
+            CharacterRepository repo,
+            ImageStore imageStore,
+            ObjectMapper objectMapper,
+            ApplicationEventPublisher events
+    ) {
         this.repo = repo;
+        this.imageStore = imageStore;
+        this.objectMapper = objectMapper;
+        this.events = events;
     }
 
     public List<Character> getAll(AppUser owner) {
         return repo.findAllByOwnerOrderByCreatedAtDesc(owner);
     }
 
+    public void forEach(AppUser owner, SheetSink<? super Character> sink) throws IOException {
+        Limit chunk = Limit.of(FOR_EACH_CHUNK_SIZE);
+        List<Character> characters = repo.findAllByOwnerOrderByCreatedAtDescIdDesc(owner, chunk);
+        while (!characters.isEmpty()) {
+            for (Character character : characters) {
+                sink.accept(character);
+            }
+            if (characters.size() < FOR_EACH_CHUNK_SIZE) {
+                return;
+            }
+
+            Character last = characters.get(characters.size() - 1);
+            characters = repo.findPageByOwnerAfter(owner, last.getCreatedAt(), last.getId(), chunk);
+        }
+    }
+
+    public List<CharacterSummary> getSummaries(AppUser owner) {
+        return repo.findSummariesByOwner(owner).stream()
+                .map(summary -> imageStore.thumbnail(summary.profileImage(), ThumbnailGenerator.LIST_SIZE)
+                        .map(summary::withProfileImage)
+                        .orElse(summary))
+                .toList();
+    }
+
+    public Character get(AppUser owner, Long id) {
+        return repo.findByIdAndOwner(id, owner)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Character not found"));
+    }
+
+    public SheetPage<Character> getPage(AppUser owner, String cursor, int limit) {
+        Limit fetch = Limit.of(limit + 1);
+        List<Character> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = repo.findAllByOwnerOrderByCreatedAtDescIdDesc(owner, fetch);
+        } else {
+            SheetCursor after = SheetCursor.decode(cursor);
+            rows = repo.findPageByOwnerAfter(owner, after.createdAt(), after.id(), fetch);
+        }
+
+        return SheetPage.of(rows, limit, character -> new SheetCursor(character.getCreatedAt(), character.getId()).encode());
+    }
+
+    @Transactional
     public Character create(AppUser owner, Character character) {
-        character.setId(null);
-        character.setOwner(owner);
-        if (character.getCreatedAt() == null || character.getCreatedAt().isBlank()) {
-            character.setCreatedAt(Instant.now().toString());
+        prepareNew(owner, character);
+
+        Character saved = repo.save(character);
+        events.publishEvent(SheetChangedEvent.created(owner.getId(), SheetType.CHARACTER, saved.getId(), saved));
+        return saved;
+    }
+
+    @Transactional
+    public Character update(AppUser owner, Long id, Character data, Long expectedVersion) {
+        Character existing = repo.findByIdAndOwner(id, owner)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Character not found"));
+        requireVersion(existing, expectedVersion);
+        apply(existing, data);
+
+        return saveUpdate(owner, existing);
+    }
+
+    @Transactional
+    public Character patch(AppUser owner, Long id, JsonNode patch, Long expectedVersion) {
+        if (!(patch instanceof ObjectNode fields)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Patch must be a JSON object");
+        }
+
+        Character existing = get(owner, id);
+        requireVersion(existing, expectedVersion);
+        ObjectNode changes = fields.deepCopy();
+        changes.remove(List.of("id", "owner", "version"));
+        if (changes.path("createdAt").asText("").isBlank()) {
+            changes.remove("createdAt");
         }
 
-        return repo.save(character);
+        try {
+            objectMapper.readerForUpdating(existing).readValue(changes);
+        } catch (IOException | IllegalArgumentException exception) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid patch");
+        }
+        if (changes.has("profileImage")) {
+            existing.setProfileImage(imageStore.toReference(existing.getProfileImage()));
+        }
+
+        return saveUpdate(owner, existing);
     }
 
-    public Character update(AppUser owner, Long id, Character data) {
+    @Transactional
+    public void delete(AppUser owner, Long id, Long expectedVersion) {
         Character existing = repo.findByIdAndOwner(id, owner)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Character not found"));
+        requireVersion(existing, expectedVersion);
+
+        repo.delete(existing);
+        events.publishEvent(SheetChangedEvent.deleted(owner.getId(), SheetType.CHARACTER, id));
+    }
+
+    @Transactional
+    public SheetBulkResult<Character> bulk(AppUser owner, SheetBulkRequest<Character> request) {
+        request.create().forEach(character -> prepareNew(owner, character));
+        List<Character> created = repo.saveAll(request.create());
+
+        Map<Long, Character> existing = owned(owner, request.update().stream().map(Character::getId).toList());
+        List<Character> updated = new ArrayList<>(request.update().size());
+        for (Character data : request.update()) {
+            Character target = existing.get(data.getId());
+            requireVersion(target, data.getVersion());
+            apply(target, data);
+            updated.add(target);
+        }
+
+        List<Character> deleted = List.copyOf(owned(owner, request.delete()).values());
+        repo.deleteAll(deleted);
+        repo.flush();
 
+        if (request.size() > 0) {
+            events.publishEvent(SheetChangedEvent.bulk(owner.getId(), SheetType.CHARACTER));
+        }
+        return new SheetBulkResult<>(created, updated, deleted.size());
+    }
+
+    private Character saveUpdate(AppUser owner, Character existing) {
+        Character saved = repo.save(existing);
+        events.publishEvent(SheetChangedEvent.updated(owner.getId(), SheetType.CHARACTER, saved.getId(), saved));
+        return saved;
+    }
+
+    private Map<Long, Character> owned(AppUser owner, List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        if (ids.contains(null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Character id is required");
+        }
+
+        Map<Long, Character> found = new HashMap<>();
+        repo.findAllByOwnerAndIdIn(owner, ids).forEach(character -> found.put(character.getId(), character));
+        if (found.size() != new HashSet<>(ids).size()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Character not found");
+        }
+        return found;
+    }
+
+    private void prepareNew(AppUser owner, Character character) {
+        character.setId(null);
+        character.setVersion(null);
+        character.setOwner(owner);
+        character.setProfileImage(imageStore.toReference(character.getProfileImage()));
+        if (character.getCreatedAt() == null) {
+            character.setCreatedAt(Instant.now());
+        }
+    }
+
+    private void apply(Character existing, Character data) {
         existing.setName(data.getName());
         existing.setGender(data.getGender());
         existing.setAncestry(data.getAncestry());
@@ -59,23 +227,19 @@ public class CharacterService {
         existing.setJournal(data.getJournal());
         existing.setAttacks(data.getAttacks());
         existing.setGear(data.getGear());
-        existing.setProfileImage(data.getProfileImage());
+        existing.setProfileImage(imageStore.toReference(data.getProfileImage()));
         existing.setGp(data.getGp());
         existing.setSp(data.getSp());
         existing.setCp(data.getCp());
 
-        if (data.getCreatedAt() != null && !data.getCreatedAt().isBlank()) {
+        if (data.getCreatedAt() != null) {
             existing.setCreatedAt(data.getCreatedAt());
         }
-
-        return repo.save(existing);
     }
 
-    public void delete(AppUser owner, Long id) {
-        Character existing = repo.findByIdAndOwner(id, owner)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Character not found"));
-
-        repo.delete(existing);
+    private void requireVersion(Character existing, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(existing.getVersion())) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Character was changed by someone else");
+        }
     }
 }
-
@@ -0,0 +1,110 @@
+package com.example.survivorio.service;
+
+import com.example.survivorio.cache.BoundedCache;
+import com.example.survivorio.dice.DiceExpression;
+import com.example.survivorio.dto.DiceBulkRollRequest;
+import com.example.survivorio.dto.DiceRollRequest;
+import com.example.survivorio.dto.DiceRollResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+@Service
+public class DiceService {
+    private final BoundedCache<String, DiceExpression> diceExpressions;
+    private final int maxCount;
+    private final int maxBulkSize;
+
+    public DiceService(
+            BoundedCache<String, DiceExpression> diceExpressions,
+            @Value("${survivorio.dice.max-count:1000}") int maxCount,
+            @Value("${survivorio.dice.max-bulk-size:200}") int maxBulkSize
+    ) {
+        this.diceExpressions = diceExpressions;
+        this.maxCount = maxCount;
+        this.maxBulkSize = maxBulkSize;
+    }
+
+    public DiceExpression compile(String expression) {
+        if (expression == null || expression.length() > DiceExpression.MAX_LENGTH) {
+            throw invalid("Dice expression must be between 1 and " + DiceExpression.MAX_LENGTH + " characters");
+        }
+
+        String key = normalize(expression);
+        return diceExpressions.get(key).orElseGet(() -> {
+            DiceExpression compiled;
+            try {
+                compiled = DiceExpression.parse(key);
+            } catch (IllegalArgumentException exception) {
+                throw invalid(exception.getMessage());
+            }
+            diceExpressions.put(key, compiled);
+            return compiled;
+        });
+    }
+
+    public DiceRollResult roll(DiceRollRequest request) {
+        return roll(request, ThreadLocalRandom.current());
+    }
+
+    public List<DiceRollResult> rollAll(DiceBulkRollRequest request) {
+        if (request.rolls().isEmpty() || request.rolls().size() > maxBulkSize) {
+            throw invalid("A bulk roll needs between 1 and " + maxBulkSize + " rolls");
+        }
+
+        int totalCount = 0;
+        for (DiceRollRequest roll : request.rolls()) {
+            if (roll == null) {
+                throw invalid("Bulk roll entries must not be null");
+            }
+            totalCount += count(roll);
+        }
+        if (totalCount > maxCount) {
+            throw invalid("A bulk roll can make at most " + maxCount + " rolls");
+        }
+
+        RandomGenerator random = ThreadLocalRandom.current();
+        List<DiceRollResult> results = new ArrayList<>(request.rolls().size());
+        for (DiceRollRequest roll : request.rolls()) {
+            results.add(roll(roll, random));
+        }
+        return results;
+    }
+
+    private DiceRollResult roll(DiceRollRequest request, RandomGenerator random) {
+        int[] rolls = new int[count(request)];
+        DiceExpression expression = compile(request.expression());
+        long total = 0;
+        for (int i = 0; i < rolls.length; i++) {
+            rolls[i] = expression.roll(random);
+            total += rolls[i];
+        }
+        return new DiceRollResult(request.label(), expression.toString(), rolls, total,
+                expression.min(), expression.max(), expression.mean());
+    }
+
+    private int count(DiceRollRequest request) {
+        if (request.count() == null) {
+            return 1;
+        }
+        if (request.count() < 1 || request.count() > maxCount) {
+            throw invalid("Roll count must be between 1 and " + maxCount);
+        }
+        return request.count();
+    }
+
+    private static String normalize(String expression) {
+        return expression.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static ResponseStatusException invalid(String message) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, message);
+    }
+}
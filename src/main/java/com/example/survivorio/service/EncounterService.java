@@ -0,0 +1,101 @@
+package com.example.survivorio.service;
+
+import com.example.survivorio.dto.EncounterRequest;
+import com.example.survivorio.dto.EncounterResult;
+import com.example.survivorio.entity.AppUser;
+import com.example.survivorio.entity.Character;
+import com.example.survivorio.entity.Monster;
+import com.example.survivorio.entity.Sheet;
+import com.example.survivorio.repository.CharacterRepository;
+import com.example.survivorio.repository.MonsterRepository;
+import com.example.survivorio.simulation.Encounter;
+import com.example.survivorio.simulation.EncounterSimulator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+@Service
+public class EncounterService {
+    private final CharacterRepository characterRepository;
+    private final MonsterRepository monsterRepository;
+    private final EncounterSimulator simulator;
+    private final int defaultTrials;
+    private final int maxTrials;
+    private final int defaultRounds;
+    private final int maxRounds;
+    private final int maxCombatants;
+
+    public EncounterService(
+            CharacterRepository characterRepository,
+            MonsterRepository monsterRepository,
+            EncounterSimulator simulator,
+            @Value("${survivorio.encounters.trials:10000}") int defaultTrials,
+            @Value("${survivorio.encounters.max-trials:100000}") int maxTrials,
+            @Value("${survivorio.encounters.rounds:50}") int defaultRounds,
+            @Value("${survivorio.encounters.max-rounds:200}") int maxRounds,
+            @Value("${survivorio.encounters.max-combatants:40}") int maxCombatants
+    ) {
+        this.characterRepository = characterRepository;
+        this.monsterRepository = monsterRepository;
+        this.simulator = simulator;
+        this.defaultTrials = defaultTrials;
+        this.maxTrials = maxTrials;
+        this.defaultRounds = defaultRounds;
+        this.maxRounds = maxRounds;
+        this.maxCombatants = maxCombatants;
+    }
+
+    public EncounterResult simulate(AppUser owner, EncounterRequest request) {
+        if (request.characterIds().isEmpty() || request.monsterIds().isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "An encounter needs at least one character and one monster");
+        }
+        if (request.characterIds().size() + request.monsterIds().size() > maxCombatants) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "An encounter can have at most " + maxCombatants + " combatants");
+        }
+
+        List<Character> party = inOrder(request.characterIds(),
+                characterRepository.findAllByOwnerAndIdIn(owner, new HashSet<>(request.characterIds())), "Character not found");
+        List<Monster> monsters = inOrder(request.monsterIds(),
+                monsterRepository.findAllByOwnerAndIdIn(owner, new HashSet<>(request.monsterIds())), "Monster not found");
+
+        SplittableRandom random = request.seed() == null ? new SplittableRandom() : new SplittableRandom(request.seed());
+        return simulator.simulate(
+                Encounter.of(party, monsters),
+                clamp(request.trials(), defaultTrials, maxTrials),
+                clamp(request.maxRounds(), defaultRounds, maxRounds),
+                random
+        );
+    }
+
+    private static <T extends Sheet> List<T> inOrder(List<Long> ids, List<T> found, String missing) {
+        Map<Long, T> byId = new HashMap<>();
+        for (T sheet : found) {
+            byId.put(sheet.getId(), sheet);
+        }
+
+        List<T> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            T sheet = byId.get(id);
+            if (sheet == null) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, missing);
+            }
+            ordered.add(sheet);
+        }
+        return ordered;
+    }
+
+    private static int clamp(Integer value, int fallback, int max) {
+        if (value == null) {
+            return fallback;
+        }
+        return Math.max(1, Math.min(value, max));
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.survivorio.service;
+
+import com.example.survivorio.dto.SheetType;
+import com.example.survivorio.entity.Character;
+import com.example.survivorio.entity.Monster;
+import com.example.survivorio.repository.CharacterRepository;
+import com.example.survivorio.repository.MonsterRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+@Component
+public class ImageMigration implements ApplicationRunner {
+    private static final Logger LOG = LoggerFactory.getLogger(ImageMigration.class);
+    private static final String DATA_URL_PREFIX = "data:";
+    private static final long LOCK_KEY = "survivorio.image-migration".hashCode();
+
+    private final CharacterRepository characterRepository;
+    private final MonsterRepository monsterRepository;
+    private final ImageStore imageStore;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher events;
+    private final boolean enabled;
+
+    public ImageMigration(
+            CharacterRepository characterRepository,
+            MonsterRepository monsterRepository,
+            ImageStore imageStore,
+            PlatformTransactionManager transactionManager,
+            JdbcTemplate jdbcTemplate,
+            ApplicationEventPublisher events,
+            @Value("${survivorio.images.migrate-on-startup:true}") boolean enabled
+    ) {
+        this.characterRepository = characterRepository;
+        this.monsterRepository = monsterRepository;
+        this.imageStore = imageStore;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jdbcTemplate = jdbcTemplate;
+        this.events = events;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            if (!advisoryLock(connection, "select pg_try_advisory_lock(?)")) {
+                LOG.info("Another instance is moving inline images to the image store, skipping");
+                return null;
+            }
+            try {
+                int characters = migrateCharacters();
+                int monsters = migrateMonsters();
+                if (characters + monsters > 0) {
+                    LOG.info("Moved {} character and {} monster images to the image store", characters, monsters);
+                }
+            } finally {
+                advisoryLock(connection, "select pg_advisory_unlock(?)");
+            }
+            return null;
+        });
+    }
+
+    private int migrateCharacters() {
+        int migrated = 0;
+        long lastId = 0;
+
+        while (true) {
+            List<Character> batch = characterRepository
+                    .findTop50ByIdGreaterThanAndProfileImageStartingWithOrderByIdAsc(lastId, DATA_URL_PREFIX);
+            if (batch.isEmpty()) {
+                return migrated;
+            }
+
+            for (Character character : batch) {
+                String reference = migrate("character", character.getId(), character.getProfileImage());
+                if (reference != null && save("character", character.getId(), () -> {
+                    character.setProfileImage(reference);
+                    Character saved = characterRepository.save(character);
+                    events.publishEvent(SheetChangedEvent.updated(
+                            character.getOwner().getId(), SheetType.CHARACTER, saved.getId(), saved));
+                })) {
+                    migrated++;
+                }
+            }
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+    }
+
+    private int migrateMonsters() {
+        int migrated = 0;
+        long lastId = 0;
+
+        while (true) {
+            List<Monster> batch = monsterRepository
+                    .findTop50ByIdGreaterThanAndProfileImageStartingWithOrderByIdAsc(lastId, DATA_URL_PREFIX);
+            if (batch.isEmpty()) {
+                return migrated;
+            }
+
+            for (Monster monster : batch) {
+                String reference = migrate("monster", monster.getId(), monster.getProfileImage());
+                if (reference != null && save("monster", monster.getId(), () -> {
+                    monster.setProfileImage(reference);
+                    Monster saved = monsterRepository.save(monster);
+                    events.publishEvent(SheetChangedEvent.updated(
+                            monster.getOwner().getId(), SheetType.MONSTER, saved.getId(), saved));
+                })) {
+                    migrated++;
+                }
+            }
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+    }
+
+    private boolean save(String kind, Long id, Runnable update) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> update.run());
+            return true;
+        } catch (OptimisticLockingFailureException exception) {
+            LOG.debug("{} {} changed while its image was being moved, leaving it as is", kind, id);
+            return false;
+        }
+    }
+
+    private String migrate(String kind, Long id, String profileImage) {
+        try {
+            return imageStore.toReference(profileImage);
+        } catch (RuntimeException exception) {
+            LOG.warn("Keeping inline profile image of {} {}: {}", kind, id, exception.getMessage());
+            return null;
+        }
+    }
+
+    private static boolean advisoryLock(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, LOCK_KEY);
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() && result.getBoolean(1);
+            }
+        }
+    }
+}
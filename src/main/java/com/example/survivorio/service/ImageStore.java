@@ -0,0 +1,253 @@
+package com.example.survivorio.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+@Service
+public class ImageStore {
+    public static final String REFERENCE_PATH = "/api/images/";
+
+    private static final Pattern NAME_PATTERN = Pattern.compile("[0-9a-f]{64}(-\\d{2,4})?\\.(png|jpg|gif|webp|avif)");
+    private static final List<String> THUMBNAIL_EXTENSIONS = List.of("jpg", "png");
+    private static final int SIGNATURE_LENGTH = 12;
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'};
+    private static final byte[] JPEG_SIGNATURE = {(byte) 0xff, (byte) 0xd8, (byte) 0xff};
+    private static final Map<String, String> EXTENSIONS = Map.of(
+            "image/png", "png",
+            "image/jpeg", "jpg",
+            "image/gif", "gif",
+            "image/webp", "webp",
+            "image/avif", "avif"
+    );
+    private static final Map<String, String> MEDIA_TYPES = Map.of(
+            "png", "image/png",
+            "jpg", "image/jpeg",
+            "gif", "image/gif",
+            "webp", "image/webp",
+            "avif", "image/avif"
+    );
+
+    private final Path root;
+    private final String baseUrl;
+    private final ApplicationEventPublisher events;
+
+    public ImageStore(
+            @Value("${survivorio.images.dir:data/images}") String root,
+            @Value("${survivorio.images.base-url:}") String baseUrl,
+            ApplicationEventPublisher events
+    ) {
+        this.root = Path.of(root).toAbsolutePath().normalize();
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.events = events;
+
+        try {
+            Files.createDirectories(this.root);
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Could not create image directory " + this.root, exception);
+        }
+    }
+
+    public String toReference(String profileImage) {
+        if (profileImage == null || !profileImage.startsWith("data:")) {
+            return profileImage;
+        }
+
+        int comma = profileImage.indexOf(',');
+        String header = comma < 0 ? "" : profileImage.substring("data:".length(), comma);
+        if (!header.endsWith(";base64")) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Profile image must be a base64 data URL");
+        }
+
+        String mediaType = header.substring(0, header.length() - ";base64".length());
+        byte[] content;
+        try {
+            content = Base64.getDecoder().decode(profileImage.substring(comma + 1));
+        } catch (IllegalArgumentException exception) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Profile image is not valid base64");
+        }
+
+        return store(content, mediaType);
+    }
+
+    public String store(byte[] content, String mediaType) {
+        String extension = extensionOf(mediaType, Arrays.copyOf(content, Math.min(content.length, SIGNATURE_LENGTH)));
+        String name = HexFormat.of().formatHex(sha256().digest(content)) + "." + extension;
+        Path target = pathOf(name);
+        if (!Files.exists(target)) {
+            write(target, content);
+            events.publishEvent(new ImageStoredEvent(name, target));
+        }
+
+        return baseUrl + REFERENCE_PATH + name;
+    }
+
+    public String store(InputStream content, String mediaType) {
+        MessageDigest digest = sha256();
+        try {
+            byte[] header = content.readNBytes(SIGNATURE_LENGTH);
+            String extension = extensionOf(mediaType, header);
+            Path temp = Files.createTempFile(root, "upload-", ".tmp");
+            try {
+                InputStream whole = new SequenceInputStream(new ByteArrayInputStream(header), content);
+                try (InputStream in = new DigestInputStream(whole, digest)) {
+                    Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+                }
+
+                String name = HexFormat.of().formatHex(digest.digest()) + "." + extension;
+                Path target = pathOf(name);
+                if (!Files.exists(target)) {
+                    Files.createDirectories(target.getParent());
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                    events.publishEvent(new ImageStoredEvent(name, target));
+                }
+                return baseUrl + REFERENCE_PATH + name;
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Could not store image", exception);
+        }
+    }
+
+    public void storeThumbnail(String contentHash, int size, String extension, byte[] content) {
+        Path target = pathOf(thumbnailName(contentHash, size, extension));
+        if (!Files.exists(target)) {
+            write(target, content);
+        }
+    }
+
+    public Optional<String> thumbnail(String reference, int size) {
+        String prefix = baseUrl + REFERENCE_PATH;
+        if (reference == null || !reference.startsWith(prefix)) {
+            return Optional.empty();
+        }
+
+        String name = reference.substring(prefix.length());
+        if (!NAME_PATTERN.matcher(name).matches()) {
+            return Optional.empty();
+        }
+
+        for (String extension : THUMBNAIL_EXTENSIONS) {
+            String thumbnail = thumbnailName(contentHash(name), size, extension);
+            if (Files.isRegularFile(pathOf(thumbnail))) {
+                return Optional.of(prefix + thumbnail);
+            }
+        }
+        return Optional.empty();
+    }
+
+    public Optional<Path> resolve(String name) {
+        if (!NAME_PATTERN.matcher(name).matches()) {
+            return Optional.empty();
+        }
+
+        Path path = pathOf(name);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    public static String contentHash(String name) {
+        return name.substring(0, name.indexOf('.'));
+    }
+
+    public static String mediaTypeOf(String name) {
+        return MEDIA_TYPES.getOrDefault(name.substring(name.lastIndexOf('.') + 1), "application/octet-stream");
+    }
+
+    private static String extensionOf(String mediaType) {
+        String extension = mediaType == null ? null : EXTENSIONS.get(mediaType);
+        if (extension == null) {
+            throw new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Unsupported image type");
+        }
+        return extension;
+    }
+
+    private static String extensionOf(String mediaType, byte[] header) {
+        String extension = extensionOf(mediaType);
+        if (!extension.equals(detectExtension(header))) {
+            throw new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Image content does not match " + mediaType);
+        }
+        return extension;
+    }
+
+    private static String detectExtension(byte[] header) {
+        if (startsWith(header, 0, PNG_SIGNATURE)) {
+            return "png";
+        }
+        if (startsWith(header, 0, JPEG_SIGNATURE)) {
+            return "jpg";
+        }
+        if (startsWith(header, 0, ascii("GIF87a")) || startsWith(header, 0, ascii("GIF89a"))) {
+            return "gif";
+        }
+        if (startsWith(header, 0, ascii("RIFF")) && startsWith(header, 8, ascii("WEBP"))) {
+            return "webp";
+        }
+        if (startsWith(header, 4, ascii("ftyp")) && (startsWith(header, 8, ascii("avif")) || startsWith(header, 8, ascii("avis")))) {
+            return "avif";
+        }
+        return null;
+    }
+
+    private static boolean startsWith(byte[] header, int offset, byte[] signature) {
+        return header.length >= offset + signature.length
+                && Arrays.equals(header, offset, offset + signature.length, signature, 0, signature.length);
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static String thumbnailName(String contentHash, int size, String extension) {
+        return contentHash + "-" + size + "." + extension;
+    }
+
+    private Path pathOf(String name) {
+        return root.resolve(name.substring(0, 2)).resolve(name);
+    }
+
+    private void write(Path target, byte[] content) {
+        try {
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), "upload-", ".tmp");
+            try {
+                Files.write(temp, content);
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Could not store image", exception);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not available", exception);
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.survivorio.service;
+
+import java.nio.file.Path;
+
+public record ImageStoredEvent(String name, Path path) {
+}
@@ -0,0 +1,181 @@
+package com.example.survivorio.service;
+
+import com.example.survivorio.cache.BoundedCache;
+import com.example.survivorio.dto.SheetType;
+import com.example.survivorio.entity.AppUser;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+@Component
+public class InvalidationListener {
+    private static final Logger LOG = LoggerFactory.getLogger(InvalidationListener.class);
+    private static final int POLL_MILLIS = 500;
+
+    private final InvalidationPublisher publisher;
+    private final BoundedCache<String, AppUser> sessionCache;
+    private final SheetListCache sheetListCache;
+    private final TokenDenyList denyList;
+    private final SheetEventBroadcaster sheetEvents;
+    private final String url;
+    private final String username;
+    private final String password;
+    private final boolean enabled;
+    private final Duration reconnectDelay;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public InvalidationListener(
+            InvalidationPublisher publisher,
+            BoundedCache<String, AppUser> sessionCache,
+            SheetListCache sheetListCache,
+            TokenDenyList denyList,
+            SheetEventBroadcaster sheetEvents,
+            @Value("${spring.datasource.url}") String url,
+            @Value("${spring.datasource.username:}") String username,
+            @Value("${spring.datasource.password:}") String password,
+            @Value("${survivorio.cluster.invalidation.enabled:true}") boolean enabled,
+            @Value("${survivorio.cluster.invalidation.reconnect-delay:2s}") Duration reconnectDelay
+    ) {
+        this.publisher = publisher;
+        this.sessionCache = sessionCache;
+        this.sheetListCache = sheetListCache;
+        this.denyList = denyList;
+        this.sheetEvents = sheetEvents;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.enabled = enabled;
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::listen, "invalidation-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public synchronized void stop() throws InterruptedException {
+        running = false;
+        if (thread != null) {
+            thread.join(POLL_MILLIS * 4L);
+        }
+    }
+
+    void handle(String payload) {
+        String[] parts = payload.split(" ");
+        if (parts.length < 2 || parts[0].equals(publisher.origin())) {
+            return;
+        }
+        int fields = fieldCount(parts[1]);
+        if (fields > 0 && parts.length != fields) {
+            LOG.warn("Ignoring malformed invalidation message {}", payload);
+            return;
+        }
+
+        try {
+            switch (parts[1]) {
+                case "sheets" -> {
+                    Long ownerId = Long.valueOf(parts[2]);
+                    SheetType sheetType = sheetType(parts[3]);
+                    sheetListCache.evict(ownerId, sheetType);
+                    sheetEvents.refresh(ownerId, sheetType);
+                }
+                case "session" -> sessionCache.invalidate(parts[2]);
+                case "token" -> denyList.add(Long.parseLong(parts[2]));
+                default -> LOG.debug("Ignoring invalidation message {}", payload);
+            }
+        } catch (IllegalArgumentException exception) {
+            LOG.warn("Ignoring malformed invalidation message {}: {}", payload, exception.getMessage());
+        }
+    }
+
+    private void listen() {
+        boolean reconnected = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + InvalidationPublisher.CHANNEL);
+                }
+                if (reconnected) {
+                    flush();
+                }
+                reconnected = true;
+
+                PGConnection notifications = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] received = notifications.getNotifications(POLL_MILLIS);
+                    if (received != null) {
+                        for (PGNotification notification : received) {
+                            dispatch(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException exception) {
+                if (running) {
+                    LOG.warn("Invalidation listener lost its connection, retrying in {}: {}", reconnectDelay, exception.getMessage());
+                    pause();
+                }
+            }
+        }
+    }
+
+    private void dispatch(String payload) {
+        try {
+            handle(payload);
+        } catch (RuntimeException exception) {
+            LOG.warn("Could not apply invalidation message {}: {}", payload, exception.getMessage());
+        }
+    }
+
+    private void flush() {
+        sessionCache.invalidateAll();
+        sheetListCache.clear();
+        denyList.sync();
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(reconnectDelay.toMillis());
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private static int fieldCount(String type) {
+        return switch (type) {
+            case "sheets" -> 4;
+            case "session", "token" -> 3;
+            default -> 0;
+        };
+    }
+
+    private static SheetType sheetType(String value) {
+        for (SheetType sheetType : SheetType.values()) {
+            if (sheetType.value().equals(value)) {
+                return sheetType;
+            }
+        }
+        throw new IllegalArgumentException("Unknown sheet type " + value);
+    }
+}
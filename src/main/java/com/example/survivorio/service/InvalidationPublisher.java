@@ -0,0 +1,53 @@
+package com.example.survivorio.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+@Component
+public class InvalidationPublisher {
+    static final String CHANNEL = "survivorio_invalidation";
+
+    private static final ResultSetExtractor<Void> IGNORE_RESULT = resultSet -> null;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final String origin = UUID.randomUUID().toString().substring(0, 8);
+
+    public InvalidationPublisher(
+            JdbcTemplate jdbcTemplate,
+            @Value("${survivorio.cluster.invalidation.enabled:true}") boolean enabled
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+    }
+
+    public String origin() {
+        return origin;
+    }
+
+    @EventListener
+    public void onSheetChanged(SheetChangedEvent event) {
+        notify("sheets " + event.ownerId() + " " + event.sheetType().value());
+    }
+
+    @EventListener
+    public void onSessionRevoked(SessionRevokedEvent event) {
+        notify("session " + event.sessionKey());
+    }
+
+    @EventListener
+    public void onTokenRevoked(TokenRevokedEvent event) {
+        notify("token " + event.tokenId());
+    }
+
+    private void notify(String message) {
+        if (enabled) {
+            jdbcTemplate.query("select pg_notify(?, ?)", IGNORE_RESULT, CHANNEL, origin + " " + message);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.survivorio.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public final class JsonSnapshot {
+    private static final byte[] EMPTY = new byte[0];
+
+    private final byte[] elements;
+
+    private JsonSnapshot(byte[] elements) {
+        this.elements = elements;
+    }
+
+    static JsonSnapshot of(byte[] elements) {
+        return new JsonSnapshot(elements.length == 0 ? EMPTY : elements);
+    }
+
+    public int sizeInBytes() {
+        return elements.length;
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(elements);
+    }
+}
@@ -1,41 +1,210 @@
 package com.example.survivorio.service;
 
+import com.example.survivorio.dto.MonsterSummary;
+import com.example.survivorio.dto.SheetBulkRequest;
+import com.example.survivorio.dto.SheetBulkResult;
+import com.example.survivorio.dto.SheetPage;
+import com.example.survivorio.dto.SheetType;
 import com.example.survivorio.entity.AppUser;
 import com.example.survivorio.entity.Monster;
 import com.example.survivorio.repository.MonsterRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class MonsterService {
+    static final int FOR_EACH_CHUNK_SIZE = 200;
 
     private final MonsterRepository repo;
+    private final ImageStore imageStore;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher events;
 
-    public MonsterService(MonsterRepository repo) {
+    public MonsterService(
+            MonsterRepository repo,
+            ImageStore imageStore,
+            ObjectMapper objectMapper,
+            ApplicationEventPublisher events
+    ) {
         this.repo = repo;
+        this.imageStore = imageStore;
+        this.objectMapper = objectMapper;
+        this.events = events;
     }
 
     public List<Monster> getAll(AppUser owner) {
         return repo.findAllByOwnerOrderByCreatedAtDesc(owner);
     }
 
+    public void forEach(AppUser owner, SheetSink<? super Monster> sink) throws IOException {
+        Limit chunk = Limit.of(FOR_EACH_CHUNK_SIZE);
+        List<Monster> monsters = repo.findAllByOwnerOrderByCreatedAtDescIdDesc(owner, chunk);
+        while (!monsters.isEmpty()) {
+            for (Monster monster : monsters) {
+                sink.accept(monster);
+            }
+            if (monsters.size() < FOR_EACH_CHUNK_SIZE) {
+                return;
+            }
+
+            Monster last = monsters.get(monsters.size() - 1);
+            monsters = repo.findPageByOwnerAfter(owner, last.getCreatedAt(), last.getId(), chunk);
+        }
+    }
+
+    public List<MonsterSummary> getSummaries(AppUser owner) {
+        return repo.findSummariesByOwner(owner).stream()
+                .map(summary -> imageStore.thumbnail(summary.profileImage(), ThumbnailGenerator.LIST_SIZE)
+                        .map(summary::withProfileImage)
+                        .orElse(summary))
+                .toList();
+    }
+
+    public Monster get(AppUser owner, Long id) {
+        return repo.findByIdAndOwner(id, owner)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Monster not found"));
+    }
+
+    public SheetPage<Monster> getPage(AppUser owner, String cursor, int limit) {
+        Limit fetch = Limit.of(limit + 1);
+        List<Monster> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = repo.findAllByOwnerOrderByCreatedAtDescIdDesc(owner, fetch);
+        } else {
+            SheetCursor after = SheetCursor.decode(cursor);
+            rows = repo.findPageByOwnerAfter(owner, after.createdAt(), after.id(), fetch);
+        }
+
+        return SheetPage.of(rows, limit, monster -> new SheetCursor(monster.getCreatedAt(), monster.getId()).encode());
+    }
+
+    @Transactional
     public Monster create(AppUser owner, Monster monster) {
-        monster.setId(null);
-        monster.setOwner(owner);
-        if (monster.getCreatedAt() == null || monster.getCreatedAt().isBlank()) {
-            monster.setCreatedAt(Instant.now().toString());
+        prepareNew(owner, monster);
+
+        Monster saved = repo.save(monster);
+        events.publishEvent(SheetChangedEvent.created(owner.getId(), SheetType.MONSTER, saved.getId(), saved));
+        return saved;
+    }
+
+    @Transactional
+    public Monster update(AppUser owner, Long id, Monster data, Long expectedVersion) {
+        Monster existing = repo.findByIdAndOwner(id, owner)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Monster not found"));
+        requireVersion(existing, expectedVersion);
+        apply(existing, data);
+
+        return saveUpdate(owner, existing);
+    }
+
+    @Transactional
+    public Monster patch(AppUser owner, Long id, JsonNode patch, Long expectedVersion) {
+        if (!(patch instanceof ObjectNode fields)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Patch must be a JSON object");
+        }
+
+        Monster existing = get(owner, id);
+        requireVersion(existing, expectedVersion);
+        ObjectNode changes = fields.deepCopy();
+        changes.remove(List.of("id", "owner", "version"));
+        if (changes.path("createdAt").asText("").isBlank()) {
+            changes.remove("createdAt");
         }
-        return repo.save(monster);
+
+        try {
+            objectMapper.readerForUpdating(existing).readValue(changes);
+        } catch (IOException | IllegalArgumentException exception) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid patch");
+        }
+        if (changes.has("profileImage")) {
+            existing.setProfileImage(imageStore.toReference(existing.getProfileImage()));
+        }
+
+        return saveUpdate(owner, existing);
     }
 
-    public Monster update(AppUser owner, Long id, Monster data) {
+    @Transactional
+    public void delete(AppUser owner, Long id, Long expectedVersion) {
         Monster existing = repo.findByIdAndOwner(id, owner)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Monster not found"));
+        requireVersion(existing, expectedVersion);
 
+        repo.delete(existing);
+        events.publishEvent(SheetChangedEvent.deleted(owner.getId(), SheetType.MONSTER, id));
+    }
+
+    @Transactional
+    public SheetBulkResult<Monster> bulk(AppUser owner, SheetBulkRequest<Monster> request) {
+        request.create().forEach(monster -> prepareNew(owner, monster));
+        List<Monster> created = repo.saveAll(request.create());
+
+        Map<Long, Monster> existing = owned(owner, request.update().stream().map(Monster::getId).toList());
+        List<Monster> updated = new ArrayList<>(request.update().size());
+        for (Monster data : request.update()) {
+            Monster target = existing.get(data.getId());
+            requireVersion(target, data.getVersion());
+            apply(target, data);
+            updated.add(target);
+        }
+
+        List<Monster> deleted = List.copyOf(owned(owner, request.delete()).values());
+        repo.deleteAll(deleted);
+        repo.flush();
+
+        if (request.size() > 0) {
+            events.publishEvent(SheetChangedEvent.bulk(owner.getId(), SheetType.MONSTER));
+        }
+        return new SheetBulkResult<>(created, updated, deleted.size());
+    }
+
+    private Monster saveUpdate(AppUser owner, Monster existing) {
+        Monster saved = repo.save(existing);
+        events.publishEvent(SheetChangedEvent.updated(owner.getId(), SheetType.MONSTER, saved.getId(), saved));
+        return saved;
+    }
+
+    private Map<Long, Monster> owned(AppUser owner, List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        if (ids.contains(null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Monster id is required");
+        }
+
+        Map<Long, Monster> found = new HashMap<>();
+        repo.findAllByOwnerAndIdIn(owner, ids).forEach(monster -> found.put(monster.getId(), monster));
+        if (found.size() != new HashSet<>(ids).size()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Monster not found");
+        }
+        return found;
+    }
+
+    private void prepareNew(AppUser owner, Monster monster) {
+        monster.setId(null);
+        monster.setVersion(null);
+        monster.setOwner(owner);
+        monster.setProfileImage(imageStore.toReference(monster.getProfileImage()));
+        if (monster.getCreatedAt() == null) {
+            monster.setCreatedAt(Instant.now());
+        }
+    }
+
+    private void apply(Monster existing, Monster data) {
         existing.setName(data.getName());
         existing.setType(data.getType());
         existing.setArmorClass(data.getArmorClass());
@@ -50,22 +219,19 @@ public class MonsterService {
         existing.setCha(data.getCha());
         existing.setAttacks(data.getAttacks());
         existing.setGear(data.getGear());
-        existing.setProfileImage(data.getProfileImage());
+        existing.setProfileImage(imageStore.toReference(data.getProfileImage()));
         existing.setGp(data.getGp());
         existing.setSp(data.getSp());
         existing.setCp(data.getCp());
 
-        if (data.getCreatedAt() != null && !data.getCreatedAt().isBlank()) {
+        if (data.getCreatedAt() != null) {
             existing.setCreatedAt(data.getCreatedAt());
         }
-
-        return repo.save(existing);
     }
 
-    public void delete(AppUser owner, Long id) {
-        Monster existing = repo.findByIdAndOwner(id, owner)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Monster not found"));
-
-        repo.delete(existing);
+    private void requireVersion(Monster existing, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(existing.getVersion())) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Monster was changed by someone else");
+        }
     }
 }
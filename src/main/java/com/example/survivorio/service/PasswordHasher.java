@@ -0,0 +1,180 @@
+package com.example.survivorio.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+public class PasswordHasher {
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int ITERATIONS = 120_000;
+    private static final int KEY_LENGTH = 256;
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final ThreadLocal<SecretKeyFactory> FACTORIES = ThreadLocal.withInitial(PasswordHasher::newFactory);
+
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+
+    private final LongAdder hashes = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private final AtomicLong maxHashNanos = new AtomicLong();
+    private final LongAdder rejections = new LongAdder();
+
+    public PasswordHasher(
+            @Value("${survivorio.auth.hash-threads:0}") int threads,
+            @Value("${survivorio.auth.hash-queue-capacity:64}") int queueCapacity,
+            @Value("${survivorio.auth.hash-timeout:10s}") Duration timeout
+    ) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                new HasherThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.timeout = timeout;
+    }
+
+    public String hash(String password) {
+        byte[] salt = new byte[16];
+        RANDOM.nextBytes(salt);
+        byte[] hash = pbkdf2(password.toCharArray(), salt, ITERATIONS, KEY_LENGTH);
+
+        return ITERATIONS
+                + ":"
+                + Base64.getEncoder().encodeToString(salt)
+                + ":"
+                + Base64.getEncoder().encodeToString(hash);
+    }
+
+    public boolean verify(String password, String storedHash) {
+        String[] parts = storedHash.split(":");
+        if (parts.length != 3) {
+            return false;
+        }
+
+        int iterations = Integer.parseInt(parts[0]);
+        byte[] salt = Base64.getDecoder().decode(parts[1]);
+        byte[] expectedHash = Base64.getDecoder().decode(parts[2]);
+        byte[] actualHash = pbkdf2(password.toCharArray(), salt, iterations, expectedHash.length * 8);
+
+        return MessageDigest.isEqual(expectedHash, actualHash);
+    }
+
+    public int queueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int activeHashes() {
+        return executor.getActiveCount();
+    }
+
+    public long completedHashes() {
+        return hashes.sum();
+    }
+
+    public long totalHashNanos() {
+        return hashNanos.sum();
+    }
+
+    public long maxHashNanos() {
+        return maxHashNanos.get();
+    }
+
+    public long rejectedHashes() {
+        return rejections.sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private byte[] pbkdf2(char[] password, byte[] salt, int iterations, int keyLength) {
+        Future<byte[]> result;
+        try {
+            result = executor.submit(() -> derive(password, salt, iterations, keyLength));
+        } catch (RejectedExecutionException exception) {
+            rejections.increment();
+            throw busy();
+        }
+
+        try {
+            return result.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException exception) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw busy();
+        } catch (TimeoutException exception) {
+            result.cancel(true);
+            throw busy();
+        } catch (ExecutionException exception) {
+            throw new IllegalStateException("Could not hash password", exception.getCause());
+        }
+    }
+
+    private byte[] derive(char[] password, byte[] salt, int iterations, int keyLength) throws GeneralSecurityException {
+        long started = System.nanoTime();
+        try {
+            PBEKeySpec spec = new PBEKeySpec(password, salt, iterations, keyLength);
+            try {
+                return FACTORIES.get().generateSecret(spec).getEncoded();
+            } finally {
+                spec.clearPassword();
+            }
+        } finally {
+            long elapsed = System.nanoTime() - started;
+            hashes.increment();
+            hashNanos.add(elapsed);
+            maxHashNanos.accumulateAndGet(elapsed, Math::max);
+        }
+    }
+
+    private static ResponseStatusException busy() {
+        return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Login is busy, please try again");
+    }
+
+    private static SecretKeyFactory newFactory() {
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(ALGORITHM + " is not available", exception);
+        }
+    }
+
+    private static final class HasherThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hasher-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.survivorio.service;
+
+import com.example.survivorio.dto.SheetType;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public record SearchCursor(float rank, SheetType sheetType, long id) {
+    public static SearchCursor decode(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|", -1);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Expected three cursor fields");
+            }
+            float rank = Float.parseFloat(parts[0]);
+            if (!Float.isFinite(rank)) {
+                throw new IllegalArgumentException("Rank must be finite");
+            }
+            return new SearchCursor(rank, SheetType.valueOf(parts[1]), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException exception) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        byte[] value = (Float.toString(rank) + "|" + sheetType.name() + "|" + id).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.survivorio.service;
+
+import com.example.survivorio.repository.AuthSessionRepository;
+import com.example.survivorio.repository.RevokedTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+public class SessionReaper {
+    private static final Logger LOG = LoggerFactory.getLogger(SessionReaper.class);
+
+    private final AuthSessionRepository sessionRepository;
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final int batchSize;
+    private final int maxBatches;
+
+    private final LongAdder purged = new LongAdder();
+    private final LongAdder runs = new LongAdder();
+
+    public SessionReaper(
+            AuthSessionRepository sessionRepository,
+            RevokedTokenRepository revokedTokenRepository,
+            @Value("${survivorio.auth.session-reaper.batch-size:500}") int batchSize,
+            @Value("${survivorio.auth.session-reaper.max-batches:100}") int maxBatches
+    ) {
+        this.sessionRepository = sessionRepository;
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxBatches = Math.max(1, maxBatches);
+    }
+
+    @Scheduled(
+            initialDelayString = "${survivorio.auth.session-reaper.initial-delay:1m}",
+            fixedDelayString = "${survivorio.auth.session-reaper.interval:10m}"
+    )
+    public void reap() {
+        Instant now = Instant.now();
+        int total = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            int deleted = sessionRepository.deleteExpiredBatch(now, batchSize);
+            total += deleted;
+            if (deleted < batchSize) {
+                break;
+            }
+        }
+
+        revokedTokenRepository.deleteExpired(now);
+
+        runs.increment();
+        purged.add(total);
+        if (total > 0) {
+            LOG.debug("Purged {} expired sessions", total);
+        }
+    }
+
+    public long purgedSessions() {
+        return purged.sum();
+    }
+
+    public long reaperRuns() {
+        return runs.sum();
+    }
+}
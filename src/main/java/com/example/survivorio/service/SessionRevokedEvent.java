@@ -0,0 +1,4 @@
+package com.example.survivorio.service;
+
+public record SessionRevokedEvent(String sessionKey) {
+}
@@ -0,0 +1,28 @@
+package com.example.survivorio.service;
+
+import com.example.survivorio.dto.SheetType;
+
+public record SheetChangedEvent(Long ownerId, SheetType sheetType, Long sheetId, Change change, Object sheet) {
+    public enum Change {
+        CREATED,
+        UPDATED,
+        DELETED,
+        BULK
+    }
+
+    public static SheetChangedEvent created(Long ownerId, SheetType sheetType, Long sheetId, Object sheet) {
+        return new SheetChangedEvent(ownerId, sheetType, sheetId, Change.CREATED, sheet);
+    }
+
+    public static SheetChangedEvent updated(Long ownerId, SheetType sheetType, Long sheetId, Object sheet) {
+        return new SheetChangedEvent(ownerId, sheetType, sheetId, Change.UPDATED, sheet);
+    }
+
+    public static SheetChangedEvent deleted(Long ownerId, SheetType sheetType, Long sheetId) {
+        return new SheetChangedEvent(ownerId, sheetType, sheetId, Change.DELETED, null);
+    }
+
+    public static SheetChangedEvent bulk(Long ownerId, SheetType sheetType) {
+        return new SheetChangedEvent(ownerId, sheetType, null, Change.BULK, null);
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.survivorio.service;
+
+import com.example.survivorio.dto.SheetChangeMessage;
+import com.example.survivorio.dto.SheetType;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class SheetEventBroadcaster {
+    static final String REFRESH = "refresh";
+
+    private final Map<Long, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    private final Duration timeout;
+    private final int maxPerUser;
+    private final ScheduledExecutorService sender;
+
+    public SheetEventBroadcaster(
+            @Value("${survivorio.sheets.events.timeout:30m}") Duration timeout,
+            @Value("${survivorio.sheets.events.heartbeat:25s}") Duration heartbeat,
+            @Value("${survivorio.sheets.events.max-per-user:20}") int maxPerUser
+    ) {
+        this.timeout = timeout;
+        this.maxPerUser = maxPerUser;
+        this.sender = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sheet-events");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = heartbeat.toMillis();
+        sender.scheduleWithFixedDelay(this::heartbeat, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public SseEmitter subscribe(Long ownerId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        subscribers.compute(ownerId, (id, emitters) -> {
+            Set<SseEmitter> current = emitters != null ? emitters : ConcurrentHashMap.newKeySet();
+            if (current.size() >= maxPerUser) {
+                throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many open event streams");
+            }
+            current.add(emitter);
+            return current;
+        });
+
+        emitter.onCompletion(() -> remove(ownerId, emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> remove(ownerId, emitter));
+        send(ownerId, emitter, SseEmitter.event().comment("connected"));
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSheetChanged(SheetChangedEvent event) {
+        SheetChangeMessage message = new SheetChangeMessage(event.sheetType().value(), event.sheetId(), event.sheet());
+        broadcast(event.ownerId(), SseEmitter.event()
+                .name(event.change().name().toLowerCase(Locale.ROOT))
+                .data(message));
+    }
+
+    public void refresh(Long ownerId, SheetType sheetType) {
+        broadcast(ownerId, SseEmitter.event()
+                .name(REFRESH)
+                .data(new SheetChangeMessage(sheetType.value(), null, null)));
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        sender.shutdown();
+        if (!sender.awaitTermination(5, TimeUnit.SECONDS)) {
+            sender.shutdownNow();
+        }
+    }
+
+    void heartbeat() {
+        subscribers.forEach((ownerId, emitters) -> {
+            for (SseEmitter emitter : emitters) {
+                send(ownerId, emitter, SseEmitter.event().comment("keepalive"));
+            }
+        });
+    }
+
+    public int subscriberCount() {
+        int count = 0;
+        for (Set<SseEmitter> emitters : subscribers.values()) {
+            count += emitters.size();
+        }
+        return count;
+    }
+
+    int subscriberCount(Long ownerId) {
+        Set<SseEmitter> emitters = subscribers.get(ownerId);
+        return emitters == null ? 0 : emitters.size();
+    }
+
+    private void broadcast(Long ownerId, SseEmitter.SseEventBuilder event) {
+        if (!subscribers.containsKey(ownerId)) {
+            return;
+        }
+        try {
+            sender.execute(() -> {
+                Set<SseEmitter> emitters = subscribers.get(ownerId);
+                if (emitters == null) {
+                    return;
+                }
+                for (SseEmitter emitter : emitters) {
+                    send(ownerId, emitter, event);
+                }
+            });
+        } catch (RejectedExecutionException exception) {
+            // shutting down; open streams are about to close anyway
+        }
+    }
+
+    private void send(Long ownerId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException exception) {
+            remove(ownerId, emitter);
+            emitter.completeWithError(exception);
+        }
+    }
+
+    private void remove(Long ownerId, SseEmitter emitter) {
+        subscribers.computeIfPresent(ownerId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.survivorio.service;
+
+import com.example.survivorio.cache.BoundedCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@Component
+public class SheetEventTickets {
+    private final SignedTokenCodec codec;
+    private final BoundedCache<String, Long> redeemed;
+    private final Duration ttl;
+
+    public SheetEventTickets(
+            SignedTokenCodec codec,
+            BoundedCache<String, Long> redeemed,
+            @Value("${survivorio.sheets.events.ticket.ttl:30s}") Duration ttl
+    ) {
+        this.codec = codec;
+        this.redeemed = redeemed;
+        this.ttl = ttl;
+    }
+
+    public String issue(Long ownerId) {
+        return codec.issueTicket(ownerId, Instant.now().plus(ttl));
+    }
+
+    public Long redeem(String ticket) {
+        SignedToken verified = codec.verifyTicket(ticket)
+                .filter(token -> token.expiresAt().isAfter(Instant.now()))
+                .orElseThrow(SheetEventTickets::invalid);
+        synchronized (redeemed) {
+            if (redeemed.contains(ticket)) {
+                throw invalid();
+            }
+            redeemed.put(ticket, verified.userId(), verified.expiresAt());
+        }
+        return verified.userId();
+    }
+
+    private static ResponseStatusException invalid() {
+        return new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Event stream ticket is invalid or expired");
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.survivorio.service;
+
+import com.example.survivorio.dto.SheetType;
+import com.example.survivorio.entity.Character;
+import com.example.survivorio.entity.Monster;
+import com.example.survivorio.entity.Sheet;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.annotation.JsonAppend;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+@Component
+public class SheetJsonWriter {
+    static final String SHEET_TYPE = "sheetType";
+    static final String PROFILE_THUMBNAIL = "profileThumbnail";
+
+    private final ObjectMapper objectMapper;
+    private final ImageStore imageStore;
+    private final ObjectWriter plainWriter;
+    private final ObjectWriter writer;
+
+    public SheetJsonWriter(ObjectMapper objectMapper, ImageStore imageStore) {
+        this.objectMapper = objectMapper;
+        this.imageStore = imageStore;
+        this.plainWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.writer = objectMapper.copy()
+                .addMixIn(Character.class, SheetRecordMixin.class)
+                .addMixIn(Monster.class, SheetRecordMixin.class)
+                .writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    public JsonGenerator createGenerator(OutputStream out) throws IOException {
+        return objectMapper.getFactory()
+                .createGenerator(out, JsonEncoding.UTF8)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    public void write(JsonGenerator generator, Object sheet) throws IOException {
+        plainWriter.writeValue(generator, sheet);
+    }
+
+    public void write(JsonGenerator generator, SheetType sheetType, Sheet sheet) throws IOException {
+        writer.withAttribute(SHEET_TYPE, sheetType.value())
+                .withAttribute(PROFILE_THUMBNAIL, imageStore.thumbnail(sheet.getProfileImage(), ThumbnailGenerator.LIST_SIZE).orElse(null))
+                .writeValue(generator, sheet);
+    }
+
+    @JsonAppend(prepend = true, attrs = {@JsonAppend.Attr(SHEET_TYPE), @JsonAppend.Attr(PROFILE_THUMBNAIL)})
+    abstract static class SheetRecordMixin {
+    }
+}
@@ -0,0 +1,239 @@
+package com.example.survivorio.service;
+
+import com.example.survivorio.cache.BoundedCache;
+import com.example.survivorio.dto.SheetType;
+import com.example.survivorio.entity.AppUser;
+import com.example.survivorio.entity.Sheet;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+@Component
+public class SheetListCache {
+    private static final SerializedString ELEMENT_SEPARATOR = new SerializedString(",");
+
+    private final BoundedCache<Key, JsonSnapshot> snapshots;
+    private final CharacterService characterService;
+    private final MonsterService monsterService;
+    private final SheetJsonWriter sheetJsonWriter;
+    private final SheetVersionService sheetVersions;
+    private final int maxEntrySize;
+    private final Executor loader;
+
+    public SheetListCache(
+            BoundedCache<Key, JsonSnapshot> snapshots,
+            CharacterService characterService,
+            MonsterService monsterService,
+            SheetJsonWriter sheetJsonWriter,
+            SheetVersionService sheetVersions,
+            @Value("${survivorio.sheets.list-cache.max-entry-size:1MB}") DataSize maxEntrySize,
+            @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor loader
+    ) {
+        this.snapshots = snapshots;
+        this.characterService = characterService;
+        this.monsterService = monsterService;
+        this.sheetJsonWriter = sheetJsonWriter;
+        this.sheetVersions = sheetVersions;
+        this.maxEntrySize = (int) Math.min(Integer.MAX_VALUE - 8, maxEntrySize.toBytes());
+        this.loader = loader;
+    }
+
+    public void writeArray(OutputStream out, AppUser owner, Key... lists) throws IOException {
+        out.write('[');
+        boolean written = false;
+        for (Key key : lists) {
+            written |= writeElements(out, written, owner, key);
+        }
+        out.write(']');
+    }
+
+    public void preload(AppUser owner, Key... lists) {
+        List<Key> missing = Arrays.stream(lists).distinct().filter(key -> !snapshots.contains(key)).toList();
+        if (missing.size() < 2) {
+            return;
+        }
+
+        CompletableFuture<?>[] loads = missing.stream()
+                .map(key -> CompletableFuture.runAsync(() -> load(owner, key), loader))
+                .toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(loads).join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw exception;
+        }
+    }
+
+    public static Key key(AppUser owner, SheetType sheetType, Format format, long version) {
+        return new Key(owner.getId(), sheetType, format, version);
+    }
+
+    @EventListener
+    public void onSheetChanged(SheetChangedEvent event) {
+        evict(event.ownerId(), event.sheetType());
+    }
+
+    public void evict(Long ownerId, SheetType sheetType) {
+        snapshots.invalidateIf(key -> key.ownerId().equals(ownerId) && key.sheetType() == sheetType);
+    }
+
+    public void clear() {
+        snapshots.invalidateAll();
+    }
+
+    private boolean writeElements(OutputStream out, boolean separated, AppUser owner, Key key) throws IOException {
+        JsonSnapshot cached = snapshots.get(key).orElse(null);
+        if (cached != null) {
+            if (cached.sizeInBytes() > 0 && separated) {
+                out.write(',');
+            }
+            cached.writeTo(out);
+            return cached.sizeInBytes() > 0;
+        }
+
+        ElementStream elements = new ElementStream(out, separated, maxEntrySize);
+        writeSheets(elements, owner, key);
+        if (elements.copy != null) {
+            keep(owner, key, elements.copy.toByteArray());
+        }
+        return elements.started;
+    }
+
+    private void load(AppUser owner, Key key) {
+        CappedBuffer buffer = new CappedBuffer(maxEntrySize);
+        try {
+            writeSheets(buffer, owner, key);
+        } catch (EntryTooLarge exception) {
+            return;
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        keep(owner, key, buffer.toByteArray());
+    }
+
+    private void keep(AppUser owner, Key key, byte[] elements) {
+        // forEach reads in several queries; a write committed in between has raised the version
+        if (sheetVersions.current(owner, key.sheetType()) == key.version()) {
+            snapshots.put(key, JsonSnapshot.of(elements));
+        }
+    }
+
+    private void writeSheets(OutputStream out, AppUser owner, Key key) throws IOException {
+        try (JsonGenerator generator = sheetJsonWriter.createGenerator(out)) {
+            generator.setRootValueSeparator(ELEMENT_SEPARATOR);
+            SheetSink<Sheet> sink = key.format() == Format.RECORD
+                    ? sheet -> sheetJsonWriter.write(generator, key.sheetType(), sheet)
+                    : sheet -> sheetJsonWriter.write(generator, sheet);
+            switch (key.sheetType()) {
+                case CHARACTER -> characterService.forEach(owner, sink);
+                case MONSTER -> monsterService.forEach(owner, sink);
+            }
+        }
+    }
+
+    public enum Format {
+        PLAIN,
+        RECORD
+    }
+
+    public record Key(Long ownerId, SheetType sheetType, Format format, long version) {
+    }
+
+    private static final class ElementStream extends OutputStream {
+        private final OutputStream out;
+        private final int maxCopySize;
+        private boolean separated;
+        private boolean started;
+        private ByteArrayOutputStream copy = new ByteArrayOutputStream();
+
+        ElementStream(OutputStream out, boolean separated, int maxCopySize) {
+            this.out = out;
+            this.separated = separated;
+            this.maxCopySize = maxCopySize;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            if (length == 0) {
+                return;
+            }
+            if (separated) {
+                out.write(',');
+                separated = false;
+            }
+            started = true;
+            out.write(bytes, offset, length);
+            if (copy != null) {
+                if (copy.size() + length > maxCopySize) {
+                    copy = null;
+                } else {
+                    copy.write(bytes, offset, length);
+                }
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+
+    private static final class CappedBuffer extends OutputStream {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final int maxSize;
+
+        CappedBuffer(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) throws IOException {
+            if (bytes.size() + length > maxSize) {
+                throw new EntryTooLarge();
+            }
+            bytes.write(buffer, offset, length);
+        }
+
+        byte[] toByteArray() {
+            return bytes.toByteArray();
+        }
+    }
+
+    private static final class EntryTooLarge extends IOException {
+        EntryTooLarge() {
+            super(null, null);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.survivorio.service;
+
+import com.example.survivorio.dto.SheetPage;
+import com.example.survivorio.dto.SheetSearchHit;
+import com.example.survivorio.dto.SheetType;
+import com.example.survivorio.entity.AppUser;
+import jakarta.persistence.EntityManager;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+
+@Service
+public class SheetSearchService {
+    static final int MAX_QUERY_LENGTH = 200;
+
+    private static final String HITS = """
+            select sheet_type, id, name, profile_image, created_at, rank
+            from (
+                select 'CHARACTER' as sheet_type, c.id, c.name, c.profile_image, c.created_at,
+                       ts_rank_cd(c.search_vector, q.terms) as rank
+                from characters c, websearch_to_tsquery('simple', :query) as q(terms)
+                where c.owner_id = :ownerId and c.search_vector @@ q.terms
+                union all
+                select 'MONSTER', m.id, m.name, m.profile_image, m.created_at,
+                       ts_rank_cd(m.search_vector, q.terms)
+                from monsters m, websearch_to_tsquery('simple', :query) as q(terms)
+                where m.owner_id = :ownerId and m.search_vector @@ q.terms
+            ) hits
+            """;
+    private static final String FIRST_PAGE = HITS + """
+            order by rank desc, sheet_type, id
+            limit :limit
+            """;
+    private static final String NEXT_PAGE = HITS + """
+            where rank < :rank or (rank = :rank and (sheet_type, id) > (:sheetType, :id))
+            order by rank desc, sheet_type, id
+            limit :limit
+            """;
+
+    private final EntityManager entityManager;
+    private final ImageStore imageStore;
+
+    public SheetSearchService(EntityManager entityManager, ImageStore imageStore) {
+        this.entityManager = entityManager;
+        this.imageStore = imageStore;
+    }
+
+    public SheetPage<SheetSearchHit> search(AppUser owner, String query, String cursor, int limit) {
+        String terms = query == null ? "" : query.trim();
+        if (terms.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Search query is required");
+        }
+        if (terms.length() > MAX_QUERY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Search query is too long");
+        }
+
+        SearchCursor after = cursor == null || cursor.isBlank() ? null : SearchCursor.decode(cursor);
+        NativeQuery<?> search = entityManager.createNativeQuery(after == null ? FIRST_PAGE : NEXT_PAGE)
+                .unwrap(NativeQuery.class)
+                .addScalar("sheet_type", StandardBasicTypes.STRING)
+                .addScalar("id", StandardBasicTypes.LONG)
+                .addScalar("name", StandardBasicTypes.STRING)
+                .addScalar("profile_image", StandardBasicTypes.STRING)
+                .addScalar("created_at", StandardBasicTypes.INSTANT)
+                .addScalar("rank", StandardBasicTypes.DOUBLE)
+                .setParameter("query", terms)
+                .setParameter("ownerId", owner.getId())
+                .setParameter("limit", limit + 1);
+        if (after != null) {
+            search.setParameter("rank", after.rank())
+                    .setParameter("sheetType", after.sheetType().name())
+                    .setParameter("id", after.id());
+        }
+
+        List<SheetSearchHit> hits = search.getResultList().stream()
+                .map(row -> hit((Object[]) row))
+                .toList();
+        return SheetPage.of(hits, limit, last -> new SearchCursor(
+                (float) last.rank(),
+                SheetType.valueOf(last.sheetType().toUpperCase(Locale.ROOT)),
+                last.id()
+        ).encode());
+    }
+
+    private SheetSearchHit hit(Object[] row) {
+        SheetSearchHit hit = new SheetSearchHit(
+                SheetType.valueOf((String) row[0]).value(),
+                (Long) row[1],
+                (String) row[2],
+                (String) row[3],
+                (Instant) row[4],
+                (Double) row[5]
+        );
+        return imageStore.thumbnail(hit.profileImage(), ThumbnailGenerator.LIST_SIZE)
+                .map(hit::withProfileImage)
+                .orElse(hit);
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.survivorio.service;
+
+import java.io.IOException;
+
+@FunctionalInterface
+public interface SheetSink<T> {
+    void accept(T sheet) throws IOException;
+}
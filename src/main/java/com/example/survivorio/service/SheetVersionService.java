@@ -0,0 +1,31 @@
+package com.example.survivorio.service;
+
+import com.example.survivorio.dto.SheetType;
+import com.example.survivorio.entity.AppUser;
+import com.example.survivorio.repository.UserRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+@Service
+public class SheetVersionService {
+    private final UserRepository userRepository;
+
+    public SheetVersionService(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    public long current(AppUser owner, SheetType sheetType) {
+        return switch (sheetType) {
+            case CHARACTER -> userRepository.findCharactersVersion(owner.getId()).orElse(0L);
+            case MONSTER -> userRepository.findMonstersVersion(owner.getId()).orElse(0L);
+        };
+    }
+
+    @EventListener
+    public void onSheetChanged(SheetChangedEvent event) {
+        switch (event.sheetType()) {
+            case CHARACTER -> userRepository.incrementCharactersVersion(event.ownerId());
+            case MONSTER -> userRepository.incrementMonstersVersion(event.ownerId());
+        }
+    }
+}
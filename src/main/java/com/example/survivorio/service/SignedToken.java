@@ -0,0 +1,6 @@
+package com.example.survivorio.service;
+
+import java.time.Instant;
+
+public record SignedToken(long userId, String username, Instant expiresAt, long tokenId) {
+}
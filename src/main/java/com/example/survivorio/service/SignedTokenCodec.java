@@ -0,0 +1,143 @@
+package com.example.survivorio.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+
+@Component
+public class SignedTokenCodec {
+    private static final Logger LOG = LoggerFactory.getLogger(SignedTokenCodec.class);
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final byte FORMAT = 1;
+    private static final byte TICKET_FORMAT = 2;
+    private static final int FIXED_LENGTH = 1 + Long.BYTES * 3;
+    private static final int MIN_KEY_BYTES = 32;
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final String secret;
+    private final ThreadLocal<Mac> macs = ThreadLocal.withInitial(this::newMac);
+    private volatile SecretKeySpec key;
+
+    public SignedTokenCodec(@Value("${survivorio.auth.token-secret:}") String secret) {
+        this.secret = secret;
+    }
+
+    public String issue(long userId, String username, Instant expiresAt) {
+        return issue(FORMAT, userId, username, expiresAt);
+    }
+
+    public Optional<SignedToken> verify(String token) {
+        return verify(FORMAT, token);
+    }
+
+    public String issueTicket(long userId, Instant expiresAt) {
+        return issue(TICKET_FORMAT, userId, "", expiresAt);
+    }
+
+    public Optional<SignedToken> verifyTicket(String ticket) {
+        return verify(TICKET_FORMAT, ticket);
+    }
+
+    private String issue(byte format, long userId, String username, Instant expiresAt) {
+        byte[] name = username.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer payload = ByteBuffer.allocate(FIXED_LENGTH + name.length)
+                .put(format)
+                .putLong(userId)
+                .putLong(expiresAt.getEpochSecond())
+                .putLong(RANDOM.nextLong())
+                .put(name);
+
+        String encoded = ENCODER.encodeToString(payload.array());
+        return encoded + "." + ENCODER.encodeToString(sign(encoded));
+    }
+
+    private Optional<SignedToken> verify(byte format, String token) {
+        int separator = token.indexOf('.');
+        if (separator <= 0 || separator != token.lastIndexOf('.')) {
+            return Optional.empty();
+        }
+
+        String encoded = token.substring(0, separator);
+        try {
+            byte[] signature = DECODER.decode(token.substring(separator + 1));
+            if (!MessageDigest.isEqual(signature, sign(encoded))) {
+                return Optional.empty();
+            }
+
+            ByteBuffer payload = ByteBuffer.wrap(DECODER.decode(encoded));
+            if (payload.remaining() < FIXED_LENGTH || payload.get() != format) {
+                return Optional.empty();
+            }
+
+            long userId = payload.getLong();
+            Instant expiresAt = Instant.ofEpochSecond(payload.getLong());
+            long tokenId = payload.getLong();
+            String username = StandardCharsets.UTF_8.decode(payload).toString();
+            return Optional.of(new SignedToken(userId, username, expiresAt, tokenId));
+        } catch (IllegalArgumentException exception) {
+            return Optional.empty();
+        }
+    }
+
+    private byte[] sign(String encodedPayload) {
+        return macs.get().doFinal(encodedPayload.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key());
+            return mac;
+        } catch (GeneralSecurityException exception) {
+            throw new IllegalStateException(ALGORITHM + " is not available", exception);
+        }
+    }
+
+    private SecretKeySpec key() {
+        SecretKeySpec loaded = key;
+        if (loaded == null) {
+            synchronized (this) {
+                loaded = key;
+                if (loaded == null) {
+                    loaded = new SecretKeySpec(keyBytes(secret), ALGORITHM);
+                    key = loaded;
+                }
+            }
+        }
+        return loaded;
+    }
+
+    private static byte[] keyBytes(String secret) {
+        if (secret == null || secret.isBlank()) {
+            LOG.warn("survivorio.auth.token-secret is not set; signed tokens and event stream tickets will not survive a restart or work across instances");
+            byte[] generated = new byte[MIN_KEY_BYTES];
+            RANDOM.nextBytes(generated);
+            return generated;
+        }
+
+        byte[] bytes;
+        try {
+            bytes = Base64.getDecoder().decode(secret.trim());
+        } catch (IllegalArgumentException exception) {
+            throw new IllegalStateException("survivorio.auth.token-secret must be Base64", exception);
+        }
+        if (bytes.length < MIN_KEY_BYTES) {
+            throw new IllegalStateException("survivorio.auth.token-secret must decode to at least " + MIN_KEY_BYTES + " bytes");
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.survivorio.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+public class ThumbnailGenerator {
+    public static final int LIST_SIZE = 96;
+
+    private static final Logger LOG = LoggerFactory.getLogger(ThumbnailGenerator.class);
+    private static final int[] SIZES = {LIST_SIZE, 256};
+    private static final int DECODE_SIZE = 2 * 256;
+    private static final float JPEG_QUALITY = 0.82f;
+
+    private final ImageStore imageStore;
+    private final ThreadPoolExecutor executor;
+    private final long maxPixels;
+
+    public ThumbnailGenerator(
+            ImageStore imageStore,
+            @Value("${survivorio.images.thumbnail-threads:2}") int threads,
+            @Value("${survivorio.images.thumbnail-queue-capacity:256}") int queueCapacity,
+            @Value("${survivorio.images.max-pixels:40000000}") long maxPixels
+    ) {
+        int poolSize = Math.max(1, threads);
+        this.imageStore = imageStore;
+        this.maxPixels = maxPixels;
+        this.executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                new ThumbnailThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    @EventListener
+    public void onImageStored(ImageStoredEvent event) {
+        try {
+            executor.execute(() -> generate(event.name(), event.path()));
+        } catch (RejectedExecutionException exception) {
+            LOG.warn("Thumbnail queue is full, {} will be served at full size", event.name());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    void generate(String name, Path source) {
+        try {
+            BufferedImage image = decode(name, source);
+            if (image == null) {
+                return;
+            }
+
+            boolean alpha = image.getColorModel().hasAlpha();
+            String extension = alpha ? "png" : "jpg";
+            for (int size : SIZES) {
+                imageStore.storeThumbnail(ImageStore.contentHash(name), size, extension, encode(scale(image, size, alpha), extension));
+            }
+        } catch (IOException | RuntimeException exception) {
+            LOG.warn("Could not create thumbnails for {}", name, exception);
+        }
+    }
+
+    private BufferedImage decode(String name, Path source) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+            if (readers == null || !readers.hasNext()) {
+                LOG.debug("No decoder for {}, skipping thumbnails", name);
+                return null;
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    LOG.warn("{} is {}x{}, above the {} pixel limit, skipping thumbnails", name, width, height, maxPixels);
+                    return null;
+                }
+
+                ImageReadParam parameters = reader.getDefaultReadParam();
+                int step = Math.max(1, Math.max(width, height) / DECODE_SIZE);
+                parameters.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, parameters);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    static BufferedImage scale(BufferedImage source, int size, boolean alpha) {
+        double ratio = Math.min(1.0, (double) size / Math.max(source.getWidth(), source.getHeight()));
+        int targetWidth = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            current = draw(current, width, height, alpha);
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height, boolean alpha) {
+        BufferedImage target = new BufferedImage(width, height, alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private static byte[] encode(BufferedImage image, String extension) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (!extension.equals("jpg")) {
+            ImageIO.write(image, extension, out);
+            return out.toByteArray();
+        }
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam parameters = writer.getDefaultWriteParam();
+        parameters.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        parameters.setCompressionQuality(JPEG_QUALITY);
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), parameters);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private static final class ThumbnailThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "thumbnail-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.NORM_PRIORITY - 1);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.survivorio.service;
+
+import com.example.survivorio.repository.RevokedTokenRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+@Component
+public class TokenDenyList {
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final boolean enabled;
+
+    private volatile long[] revoked = new long[0];
+
+    public TokenDenyList(
+            RevokedTokenRepository revokedTokenRepository,
+            @Value("${survivorio.auth.mode:session}") AuthMode mode
+    ) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.enabled = mode == AuthMode.SIGNED;
+    }
+
+    public boolean contains(long tokenId) {
+        return Arrays.binarySearch(revoked, tokenId) >= 0;
+    }
+
+    public synchronized void revoke(long tokenId, Instant expiresAt) {
+        revokedTokenRepository.revoke(tokenId, expiresAt);
+        add(tokenId);
+    }
+
+    public synchronized void add(long tokenId) {
+        long[] current = revoked;
+        int index = Arrays.binarySearch(current, tokenId);
+        if (index >= 0) {
+            return;
+        }
+
+        int insertAt = -index - 1;
+        long[] next = new long[current.length + 1];
+        System.arraycopy(current, 0, next, 0, insertAt);
+        next[insertAt] = tokenId;
+        System.arraycopy(current, insertAt, next, insertAt + 1, current.length - insertAt);
+        revoked = next;
+    }
+
+    @Scheduled(fixedDelayString = "${survivorio.auth.deny-list.sync-interval:30s}")
+    public synchronized void sync() {
+        if (!enabled) {
+            return;
+        }
+
+        List<Long> tokenIds = revokedTokenRepository.findActiveTokenIds(Instant.now());
+        long[] next = new long[tokenIds.size()];
+        for (int i = 0; i < next.length; i++) {
+            next[i] = tokenIds.get(i);
+        }
+        Arrays.sort(next);
+        revoked = next;
+    }
+
+    public int size() {
+        return revoked.length;
+    }
+}
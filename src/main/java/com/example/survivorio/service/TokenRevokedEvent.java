@@ -0,0 +1,4 @@
+package com.example.survivorio.service;
+
+public record TokenRevokedEvent(long tokenId) {
+}
@@ -0,0 +1,9 @@
+package com.example.survivorio.simulation;
+
+import com.example.survivorio.dice.DiceExpression;
+
+public record Attack(int toHit, DiceExpression damage) {
+    public double expectedDamage() {
+        return Math.max(1.0, damage.mean());
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.survivorio.simulation;
+
+import com.example.survivorio.dice.DiceExpression;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public final class Attacks {
+    private static final Pattern ALTERNATIVES = Pattern.compile("[\\r\\n,;]+|\\s+or\\s+", Pattern.CASE_INSENSITIVE);
+    private static final Pattern SAME_ROUND = Pattern.compile("\\s+and\\s+", Pattern.CASE_INSENSITIVE);
+    private static final String DICE_TERM = "(?:\\d{0,3}d(?:\\d{1,4}|%)(?:k[hl]?\\d{1,3})?|\\d{1,6})";
+    private static final Pattern ATTACK = Pattern.compile(
+            "^\\s*(?:atk\\s+)?(?:(\\d{1,2})\\s+)?.*?([+-]\\s*\\d{1,2})\\s*\\(\\s*("
+                    + DICE_TERM + "(?:\\s*[+-]\\s*" + DICE_TERM + ")*)",
+            Pattern.CASE_INSENSITIVE
+    );
+    private static final int MAX_ATTACKS_PER_ROUND = 10;
+
+    private Attacks() {
+    }
+
+    public static List<Attack> bestRoutine(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+
+        List<Attack> best = List.of();
+        double bestDamage = 0;
+        for (String alternative : ALTERNATIVES.split(text)) {
+            List<Attack> routine = routine(alternative);
+            double damage = 0;
+            for (Attack attack : routine) {
+                damage += attack.expectedDamage();
+            }
+            if (damage > bestDamage) {
+                best = routine;
+                bestDamage = damage;
+            }
+        }
+        return best;
+    }
+
+    private static List<Attack> routine(String alternative) {
+        List<Attack> attacks = new ArrayList<>();
+        for (String part : SAME_ROUND.split(alternative)) {
+            Matcher matcher = ATTACK.matcher(part);
+            if (!matcher.find()) {
+                continue;
+            }
+
+            int count = matcher.group(1) == null ? 1 : Integer.parseInt(matcher.group(1));
+            int toHit = Integer.parseInt(matcher.group(2).replace(" ", ""));
+            DiceExpression damage;
+            try {
+                damage = DiceExpression.parse(matcher.group(3));
+            } catch (IllegalArgumentException exception) {
+                continue;
+            }
+
+            Attack attack = new Attack(toHit, damage);
+            for (int i = 0; i < count && attacks.size() < MAX_ATTACKS_PER_ROUND; i++) {
+                attacks.add(attack);
+            }
+        }
+        return attacks;
+    }
+}
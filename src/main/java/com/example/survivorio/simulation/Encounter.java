@@ -0,0 +1,117 @@
+package com.example.survivorio.simulation;
+
+import com.example.survivorio.dice.DiceExpression;
+import com.example.survivorio.dto.SheetType;
+import com.example.survivorio.entity.Character;
+import com.example.survivorio.entity.Monster;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class Encounter {
+    public static final int PARTY = 0;
+    public static final int MONSTERS = 1;
+
+    private static final int DEFAULT_ARMOR_CLASS = 10;
+
+    final int size;
+    final SheetType[] sheetTypes;
+    final long[] sheetIds;
+    final String[] names;
+    final int[] side;
+    final int[] maxHp;
+    final int[] armorClass;
+    final int[] initiativeBonus;
+    final int[] attackStart;
+    final int[] toHit;
+    final DiceExpression[] damage;
+    final long[] sideMaxHp = new long[2];
+    final int[] sideSize = new int[2];
+
+    private Encounter(List<Entry> entries) {
+        size = entries.size();
+        sheetTypes = new SheetType[size];
+        sheetIds = new long[size];
+        names = new String[size];
+        side = new int[size];
+        maxHp = new int[size];
+        armorClass = new int[size];
+        initiativeBonus = new int[size];
+        attackStart = new int[size + 1];
+
+        int attacks = 0;
+        for (Entry entry : entries) {
+            attacks += entry.attacks().size();
+        }
+        toHit = new int[attacks];
+        damage = new DiceExpression[attacks];
+
+        int next = 0;
+        for (int i = 0; i < size; i++) {
+            Entry entry = entries.get(i);
+            sheetTypes[i] = entry.sheetType();
+            sheetIds[i] = entry.id() == null ? 0 : entry.id();
+            names[i] = entry.name();
+            side[i] = entry.side();
+            maxHp[i] = Math.max(1, entry.hp());
+            armorClass[i] = entry.armorClass() > 0 ? entry.armorClass() : DEFAULT_ARMOR_CLASS;
+            initiativeBonus[i] = entry.initiativeBonus();
+            sideMaxHp[side[i]] += maxHp[i];
+            sideSize[side[i]]++;
+
+            attackStart[i] = next;
+            for (Attack attack : entry.attacks()) {
+                toHit[next] = attack.toHit();
+                damage[next] = attack.damage();
+                next++;
+            }
+        }
+        attackStart[size] = next;
+    }
+
+    public static Encounter of(List<Character> party, List<Monster> monsters) {
+        List<Entry> entries = new ArrayList<>(party.size() + monsters.size());
+        for (Character character : party) {
+            int str = modifier(character.getStr());
+            int dex = modifier(character.getDex());
+            entries.add(new Entry(SheetType.CHARACTER, character.getId(), character.getName(), PARTY,
+                    character.getHp(), character.getAc(), dex, attacks(character.getAttacks(), str, dex)));
+        }
+        for (Monster monster : monsters) {
+            int str = modifier(monster.getStr());
+            int dex = modifier(monster.getDex());
+            entries.add(new Entry(SheetType.MONSTER, monster.getId(), monster.getName(), MONSTERS,
+                    monster.getHitPoints(), monster.getArmorClass(), dex, attacks(monster.getAttacks(), str, dex)));
+        }
+        return new Encounter(entries);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    static int modifier(int score) {
+        return score <= 0 ? 0 : Math.floorDiv(score - 10, 2);
+    }
+
+    private static List<Attack> attacks(String text, int str, int dex) {
+        List<Attack> routine = Attacks.bestRoutine(text);
+        if (!routine.isEmpty()) {
+            return routine;
+        }
+        int bonus = Math.max(str, dex);
+        return List.of(new Attack(bonus, DiceExpression.parse("1d4" + (bonus >= 0 ? "+" : "") + bonus)));
+    }
+
+    private record Entry(
+            SheetType sheetType,
+            Long id,
+            String name,
+            int side,
+            int hp,
+            int armorClass,
+            int initiativeBonus,
+            List<Attack> attacks
+    ) {
+    }
+}
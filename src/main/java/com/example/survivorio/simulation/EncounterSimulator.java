@@ -0,0 +1,233 @@
+package com.example.survivorio.simulation;
+
+import com.example.survivorio.dto.CombatantOutcome;
+import com.example.survivorio.dto.EncounterResult;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+public class EncounterSimulator {
+    private static final int LEAF_TRIALS = 512;
+    private static final int DEADLINE_CHECK_MASK = 31;
+
+    private final ForkJoinPool pool;
+    private final Duration timeBudget;
+
+    private final LongAdder simulations = new LongAdder();
+    private final LongAdder fights = new LongAdder();
+
+    public EncounterSimulator(
+            @Value("${survivorio.encounters.threads:0}") int threads,
+            @Value("${survivorio.encounters.time-budget:2s}") Duration timeBudget
+    ) {
+        int parallelism = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(parallelism, new SimulatorThreadFactory(), null, false);
+        this.timeBudget = timeBudget;
+    }
+
+    public EncounterResult simulate(Encounter encounter, int trials, int maxRounds, SplittableRandom random) {
+        long started = System.nanoTime();
+        long deadline = started + timeBudget.toNanos();
+        FightTally tally = pool.invoke(new SimulationTask(encounter, trials, maxRounds, random, deadline));
+        long elapsed = System.nanoTime() - started;
+
+        simulations.increment();
+        fights.add(tally.trials);
+        return result(encounter, tally, tally.trials < trials, elapsed);
+    }
+
+    public long completedSimulations() {
+        return simulations.sum();
+    }
+
+    public long simulatedFights() {
+        return fights.sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    static FightTally run(Encounter encounter, int trials, int maxRounds, SplittableRandom random, long deadline) {
+        FightTally tally = new FightTally(encounter.size, maxRounds);
+        int[] hp = new int[encounter.size];
+        int[] initiative = new int[encounter.size];
+        int[] order = new int[encounter.size];
+        int[] alive = new int[2];
+
+        for (int trial = 0; trial < trials; trial++) {
+            if (trial > 0 && (trial & DEADLINE_CHECK_MASK) == 0 && System.nanoTime() - deadline > 0) {
+                break;
+            }
+            int rounds = fight(encounter, maxRounds, random, hp, initiative, order, alive);
+            tally.record(encounter, hp, alive, rounds);
+        }
+        return tally;
+    }
+
+    private static int fight(
+            Encounter encounter,
+            int maxRounds,
+            SplittableRandom random,
+            int[] hp,
+            int[] initiative,
+            int[] order,
+            int[] alive
+    ) {
+        int size = encounter.size;
+        for (int i = 0; i < size; i++) {
+            hp[i] = encounter.maxHp[i];
+            initiative[i] = random.nextInt(1, 21) + encounter.initiativeBonus[i];
+            order[i] = i;
+        }
+        sortByInitiative(order, initiative, size);
+        alive[Encounter.PARTY] = encounter.sideSize[Encounter.PARTY];
+        alive[Encounter.MONSTERS] = encounter.sideSize[Encounter.MONSTERS];
+
+        int rounds = 0;
+        while (rounds < maxRounds && alive[Encounter.PARTY] > 0 && alive[Encounter.MONSTERS] > 0) {
+            rounds++;
+            for (int turn = 0; turn < size; turn++) {
+                int attacker = order[turn];
+                if (hp[attacker] <= 0) {
+                    continue;
+                }
+
+                int opponents = 1 - encounter.side[attacker];
+                for (int attack = encounter.attackStart[attacker]; attack < encounter.attackStart[attacker + 1]; attack++) {
+                    if (alive[opponents] == 0) {
+                        return rounds;
+                    }
+
+                    int target = pickTarget(encounter, hp, opponents, random.nextInt(alive[opponents]));
+                    int roll = random.nextInt(1, 21);
+                    if (roll == 1 || (roll < 20 && roll + encounter.toHit[attack] < encounter.armorClass[target])) {
+                        continue;
+                    }
+
+                    int damage = roll == 20
+                            ? encounter.damage[attack].rollCritical(random)
+                            : encounter.damage[attack].roll(random);
+                    hp[target] -= Math.max(1, damage);
+                    if (hp[target] <= 0) {
+                        alive[opponents]--;
+                    }
+                }
+            }
+        }
+        return rounds;
+    }
+
+    private static int pickTarget(Encounter encounter, int[] hp, int side, int nth) {
+        for (int i = 0; i < encounter.size; i++) {
+            if (encounter.side[i] == side && hp[i] > 0 && nth-- == 0) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("No living combatant on side " + side);
+    }
+
+    private static void sortByInitiative(int[] order, int[] initiative, int size) {
+        for (int i = 1; i < size; i++) {
+            int current = order[i];
+            int j = i - 1;
+            while (j >= 0 && initiative[order[j]] < initiative[current]) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = current;
+        }
+    }
+
+    private static EncounterResult result(Encounter encounter, FightTally tally, boolean truncated, long elapsedNanos) {
+        double trials = tally.trials;
+        List<CombatantOutcome> combatants = new ArrayList<>(encounter.size);
+        for (int i = 0; i < encounter.size; i++) {
+            combatants.add(new CombatantOutcome(
+                    encounter.sheetTypes[i].value(),
+                    encounter.sheetIds[i],
+                    encounter.names[i],
+                    tally.survived[i] / trials,
+                    tally.hpRemaining[i] / trials
+            ));
+        }
+
+        return new EncounterResult(
+                (int) tally.trials,
+                truncated,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                tally.partyWins / trials,
+                tally.monsterWins / trials,
+                tally.draws / trials,
+                tally.rounds / trials,
+                tally.roundsPercentile(0.5),
+                tally.roundsPercentile(0.9),
+                shares(tally.partyHp, trials),
+                shares(tally.monsterHp, trials),
+                combatants
+        );
+    }
+
+    private static double[] shares(long[] counts, double trials) {
+        double[] shares = new double[counts.length];
+        for (int i = 0; i < counts.length; i++) {
+            shares[i] = counts[i] / trials;
+        }
+        return shares;
+    }
+
+    private static final class SimulatorThreadFactory implements ForkJoinPool.ForkJoinWorkerThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("encounter-simulator-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    private static final class SimulationTask extends RecursiveTask<FightTally> {
+        private final Encounter encounter;
+        private final int trials;
+        private final int maxRounds;
+        private final SplittableRandom random;
+        private final long deadline;
+
+        SimulationTask(Encounter encounter, int trials, int maxRounds, SplittableRandom random, long deadline) {
+            this.encounter = encounter;
+            this.trials = trials;
+            this.maxRounds = maxRounds;
+            this.random = random;
+            this.deadline = deadline;
+        }
+
+        @Override
+        protected FightTally compute() {
+            if (trials <= LEAF_TRIALS) {
+                return run(encounter, trials, maxRounds, random, deadline);
+            }
+
+            int half = trials / 2;
+            SimulationTask left = new SimulationTask(encounter, half, maxRounds, random.split(), deadline);
+            SimulationTask right = new SimulationTask(encounter, trials - half, maxRounds, random, deadline);
+            left.fork();
+            FightTally tally = right.compute();
+            return tally.merge(left.join());
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.survivorio.simulation;
+
+final class FightTally {
+    static final int HP_BUCKETS = 11;
+
+    long trials;
+    long partyWins;
+    long monsterWins;
+    long draws;
+    long rounds;
+    final long[] roundHistogram;
+    final long[] partyHp = new long[HP_BUCKETS];
+    final long[] monsterHp = new long[HP_BUCKETS];
+    final long[] survived;
+    final long[] hpRemaining;
+    private final long[] sideHp = new long[2];
+
+    FightTally(int combatants, int maxRounds) {
+        roundHistogram = new long[maxRounds + 1];
+        survived = new long[combatants];
+        hpRemaining = new long[combatants];
+    }
+
+    void record(Encounter encounter, int[] hp, int[] alive, int fightRounds) {
+        trials++;
+        rounds += fightRounds;
+        roundHistogram[fightRounds]++;
+        if (alive[Encounter.MONSTERS] == 0) {
+            partyWins++;
+        } else if (alive[Encounter.PARTY] == 0) {
+            monsterWins++;
+        } else {
+            draws++;
+        }
+
+        sideHp[Encounter.PARTY] = 0;
+        sideHp[Encounter.MONSTERS] = 0;
+        for (int i = 0; i < encounter.size; i++) {
+            if (hp[i] > 0) {
+                survived[i]++;
+                hpRemaining[i] += hp[i];
+                sideHp[encounter.side[i]] += hp[i];
+            }
+        }
+        partyHp[bucket(sideHp[Encounter.PARTY], encounter.sideMaxHp[Encounter.PARTY])]++;
+        monsterHp[bucket(sideHp[Encounter.MONSTERS], encounter.sideMaxHp[Encounter.MONSTERS])]++;
+    }
+
+    FightTally merge(FightTally other) {
+        trials += other.trials;
+        partyWins += other.partyWins;
+        monsterWins += other.monsterWins;
+        draws += other.draws;
+        rounds += other.rounds;
+        add(roundHistogram, other.roundHistogram);
+        add(partyHp, other.partyHp);
+        add(monsterHp, other.monsterHp);
+        add(survived, other.survived);
+        add(hpRemaining, other.hpRemaining);
+        return this;
+    }
+
+    int roundsPercentile(double quantile) {
+        long target = (long) Math.ceil(trials * quantile);
+        long seen = 0;
+        for (int round = 0; round < roundHistogram.length; round++) {
+            seen += roundHistogram[round];
+            if (seen >= target && seen > 0) {
+                return round;
+            }
+        }
+        return roundHistogram.length - 1;
+    }
+
+    private static int bucket(long remaining, long total) {
+        return (int) ((remaining * (HP_BUCKETS - 1) + total - 1) / total);
+    }
+
+    private static void add(long[] target, long[] source) {
+        for (int i = 0; i < target.length; i++) {
+            target[i] += source[i];
+        }
+    }
+}
@@ -1,3 +1,6 @@
+-- Brings databases built by ddl-auto=update plus schema.sql up to the V1 shape. V1 only creates missing
+-- objects, so columns that schema.sql used to add to existing tables are added here. No-op on fresh databases.
+
 ALTER TABLE IF EXISTS characters ADD COLUMN IF NOT EXISTS ancestry VARCHAR(255);
 ALTER TABLE IF EXISTS characters ADD COLUMN IF NOT EXISTS gender VARCHAR(32) DEFAULT 'male';
 ALTER TABLE IF EXISTS characters ADD COLUMN IF NOT EXISTS class_name VARCHAR(255);
@@ -25,6 +28,7 @@ ALTER TABLE IF EXISTS characters ADD COLUMN IF NOT EXISTS sp INTEGER NOT NULL DE
 ALTER TABLE IF EXISTS characters ADD COLUMN IF NOT EXISTS cp INTEGER NOT NULL DEFAULT 0;
 ALTER TABLE IF EXISTS characters ADD COLUMN IF NOT EXISTS owner_id BIGINT;
 ALTER TABLE IF EXISTS characters ADD COLUMN IF NOT EXISTS created_at VARCHAR(255);
+ALTER TABLE IF EXISTS characters ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
 
 ALTER TABLE IF EXISTS monsters ADD COLUMN IF NOT EXISTS type VARCHAR(255);
 ALTER TABLE IF EXISTS monsters ADD COLUMN IF NOT EXISTS armor_class INTEGER NOT NULL DEFAULT 10;
@@ -45,3 +49,29 @@ ALTER TABLE IF EXISTS monsters ADD COLUMN IF NOT EXISTS sp INTEGER NOT NULL DEFA
 ALTER TABLE IF EXISTS monsters ADD COLUMN IF NOT EXISTS cp INTEGER NOT NULL DEFAULT 0;
 ALTER TABLE IF EXISTS monsters ADD COLUMN IF NOT EXISTS owner_id BIGINT;
 ALTER TABLE IF EXISTS monsters ADD COLUMN IF NOT EXISTS created_at VARCHAR(255);
+ALTER TABLE IF EXISTS monsters ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE IF EXISTS app_users ADD COLUMN IF NOT EXISTS characters_version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE IF EXISTS app_users ADD COLUMN IF NOT EXISTS monsters_version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE auth_sessions ADD COLUMN IF NOT EXISTS created_at TIMESTAMP WITH TIME ZONE;
+DO $$
+BEGIN
+    IF EXISTS (
+        SELECT 1 FROM information_schema.columns
+        WHERE table_schema = current_schema()
+          AND table_name = 'auth_sessions'
+          AND column_name = 'created_at'
+          AND data_type <> 'timestamp with time zone'
+    ) THEN
+        ALTER TABLE auth_sessions
+            ALTER COLUMN created_at TYPE TIMESTAMP WITH TIME ZONE
+                USING NULLIF(btrim(created_at::text), '')::timestamptz;
+    END IF;
+END
+$$;
+
+ALTER TABLE auth_sessions ADD COLUMN IF NOT EXISTS expires_at TIMESTAMP WITH TIME ZONE;
+UPDATE auth_sessions SET expires_at = COALESCE(created_at, now()) + INTERVAL '30 days' WHERE expires_at IS NULL;
+ALTER TABLE auth_sessions ALTER COLUMN expires_at SET NOT NULL;
+CREATE INDEX IF NOT EXISTS auth_sessions_expires_at_idx ON auth_sessions (expires_at);
@@ -0,0 +1,91 @@
+-- Schema as it stood when migrations were introduced. Every statement is guarded so that databases
+-- previously built by ddl-auto=update plus schema.sql can be baselined at version 0 and pass through here.
+
+CREATE TABLE IF NOT EXISTS app_users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username VARCHAR(255) NOT NULL UNIQUE,
+    password_hash VARCHAR(512) NOT NULL,
+    created_at VARCHAR(255),
+    characters_version BIGINT NOT NULL DEFAULT 0,
+    monsters_version BIGINT NOT NULL DEFAULT 0
+);
+
+CREATE SEQUENCE IF NOT EXISTS characters_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS characters (
+    id BIGINT PRIMARY KEY,
+    name VARCHAR(255),
+    gender VARCHAR(32) DEFAULT 'male',
+    ancestry VARCHAR(255),
+    class_name VARCHAR(255),
+    level INTEGER NOT NULL DEFAULT 1,
+    xp INTEGER NOT NULL DEFAULT 0,
+    str INTEGER NOT NULL DEFAULT 10,
+    dex INTEGER NOT NULL DEFAULT 10,
+    con INTEGER NOT NULL DEFAULT 10,
+    intel INTEGER NOT NULL DEFAULT 10,
+    wis INTEGER NOT NULL DEFAULT 10,
+    cha INTEGER NOT NULL DEFAULT 10,
+    hp INTEGER NOT NULL DEFAULT 10,
+    ac INTEGER NOT NULL DEFAULT 10,
+    title VARCHAR(255),
+    alignment VARCHAR(255),
+    background VARCHAR(255),
+    deity VARCHAR(255),
+    talents_spells VARCHAR(255),
+    journal TEXT,
+    attacks VARCHAR(255),
+    gear VARCHAR(255),
+    profile_image TEXT,
+    gp INTEGER NOT NULL DEFAULT 0,
+    sp INTEGER NOT NULL DEFAULT 0,
+    cp INTEGER NOT NULL DEFAULT 0,
+    owner_id BIGINT REFERENCES app_users (id),
+    created_at VARCHAR(255),
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+CREATE SEQUENCE IF NOT EXISTS monsters_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS monsters (
+    id BIGINT PRIMARY KEY,
+    name VARCHAR(255),
+    type VARCHAR(255),
+    armor_class INTEGER NOT NULL DEFAULT 10,
+    hit_points INTEGER NOT NULL DEFAULT 10,
+    challenge VARCHAR(255),
+    notes VARCHAR(255),
+    str INTEGER NOT NULL DEFAULT 10,
+    dex INTEGER NOT NULL DEFAULT 10,
+    con INTEGER NOT NULL DEFAULT 10,
+    intel INTEGER NOT NULL DEFAULT 10,
+    wis INTEGER NOT NULL DEFAULT 10,
+    cha INTEGER NOT NULL DEFAULT 10,
+    attacks VARCHAR(255),
+    gear VARCHAR(255),
+    profile_image TEXT,
+    gp INTEGER NOT NULL DEFAULT 0,
+    sp INTEGER NOT NULL DEFAULT 0,
+    cp INTEGER NOT NULL DEFAULT 0,
+    owner_id BIGINT REFERENCES app_users (id),
+    created_at VARCHAR(255),
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+CREATE TABLE IF NOT EXISTS auth_sessions (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    token VARCHAR(80) NOT NULL UNIQUE,
+    user_id BIGINT NOT NULL REFERENCES app_users (id),
+    created_at TIMESTAMP WITH TIME ZONE,
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+CREATE INDEX IF NOT EXISTS auth_sessions_expires_at_idx ON auth_sessions (expires_at);
+
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    token_id BIGINT PRIMARY KEY,
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+CREATE INDEX IF NOT EXISTS revoked_tokens_expires_at_idx ON revoked_tokens (expires_at);
+
+SELECT setval('characters_seq', GREATEST((SELECT last_value FROM characters_seq), (SELECT COALESCE(MAX(id), 0) + 50 FROM characters)));
+SELECT setval('monsters_seq', GREATEST((SELECT last_value FROM monsters_seq), (SELECT COALESCE(MAX(id), 0) + 50 FROM monsters)));
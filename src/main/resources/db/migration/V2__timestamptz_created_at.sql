@@ -0,0 +1,18 @@
+-- created_at was written as Instant.toString(), which PostgreSQL parses as timestamptz directly.
+ALTER TABLE characters
+    ALTER COLUMN created_at TYPE TIMESTAMP WITH TIME ZONE
+        USING COALESCE(NULLIF(btrim(created_at), '')::timestamptz, now());
+ALTER TABLE characters
+    ALTER COLUMN created_at SET DEFAULT now(),
+    ALTER COLUMN created_at SET NOT NULL;
+
+ALTER TABLE monsters
+    ALTER COLUMN created_at TYPE TIMESTAMP WITH TIME ZONE
+        USING COALESCE(NULLIF(btrim(created_at), '')::timestamptz, now());
+ALTER TABLE monsters
+    ALTER COLUMN created_at SET DEFAULT now(),
+    ALTER COLUMN created_at SET NOT NULL;
+
+ALTER TABLE app_users
+    ALTER COLUMN created_at TYPE TIMESTAMP WITH TIME ZONE
+        USING NULLIF(btrim(created_at), '')::timestamptz;
@@ -0,0 +1,7 @@
+-- Built concurrently so existing sheet tables stay writable; Flyway runs this script outside a transaction.
+-- The sheet indexes match the list, stream and keyset-page ordering (created_at DESC, id DESC) per owner.
+-- auth_sessions keeps its unique B-tree on token for the per-request lookup; user_id is indexed so
+-- deleting a user does not scan every session.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS characters_owner_created_idx ON characters (owner_id, created_at DESC, id DESC);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS monsters_owner_created_idx ON monsters (owner_id, created_at DESC, id DESC);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS auth_sessions_user_id_idx ON auth_sessions (user_id);
@@ -0,0 +1,17 @@
+-- Search vectors are generated columns, so PostgreSQL keeps them current on every insert, update and
+-- delete without any application code. The 'simple' configuration avoids language-specific stemming of
+-- names and campaign vocabulary. Their GIN indexes are built concurrently in V5.
+-- Adding a STORED generated column rewrites each table under an ACCESS EXCLUSIVE lock, so sheet reads and
+-- writes block until the rewrite finishes. That takes seconds at current table sizes; on a large install,
+-- run this migration in a maintenance window.
+ALTER TABLE characters ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple', coalesce(name, '')), 'A')
+    || setweight(to_tsvector('simple', coalesce(talents_spells, '') || ' ' || coalesce(attacks, '') || ' ' || coalesce(gear, '')), 'B')
+    || setweight(to_tsvector('simple', coalesce(journal, '')), 'C')
+) STORED;
+
+ALTER TABLE monsters ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple', coalesce(name, '')), 'A')
+    || setweight(to_tsvector('simple', coalesce(type, '')), 'B')
+    || setweight(to_tsvector('simple', coalesce(notes, '')), 'C')
+) STORED;
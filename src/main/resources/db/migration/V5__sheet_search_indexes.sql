@@ -0,0 +1,3 @@
+-- Built concurrently so the sheet tables stay writable; Flyway runs this script outside a transaction.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS characters_search_idx ON characters USING gin (search_vector);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS monsters_search_idx ON monsters USING gin (search_vector);
@@ -0,0 +1,168 @@
+package com.example.survivorio.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedCacheTest {
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+
+    @Test
+    void evictsLeastRecentlyUsedEntryWhenFull() {
+        BoundedCache<String, String> cache = new BoundedCache<>(2, Duration.ofMinutes(5), clock);
+
+        cache.put("a", "A");
+        cache.put("b", "B");
+        cache.get("a");
+        cache.put("c", "C");
+
+        assertThat(cache.get("a")).contains("A");
+        assertThat(cache.get("b")).isEmpty();
+        assertThat(cache.get("c")).contains("C");
+        assertThat(cache.stats().evictions()).isEqualTo(1);
+    }
+
+    @Test
+    void expiresEntriesAfterTtl() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, Duration.ofMinutes(5), clock);
+
+        cache.put("a", "A");
+        clock.advance(Duration.ofMinutes(5));
+
+        assertThat(cache.get("a")).isEmpty();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void explicitExpiryCannotExceedTtl() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, Duration.ofMinutes(5), clock);
+
+        cache.put("short", "S", clock.instant().plus(Duration.ofMinutes(1)));
+        cache.put("long", "L", clock.instant().plus(Duration.ofHours(1)));
+        clock.advance(Duration.ofMinutes(2));
+
+        assertThat(cache.get("short")).isEmpty();
+        assertThat(cache.get("long")).contains("L");
+        clock.advance(Duration.ofMinutes(3));
+        assertThat(cache.get("long")).isEmpty();
+    }
+
+    @Test
+    void takeHandsOutEachLiveEntryOnce() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, Duration.ofSeconds(30), clock);
+        cache.put("a", "A");
+        cache.put("b", "B");
+
+        assertThat(cache.take("a")).contains("A");
+        assertThat(cache.take("a")).isEmpty();
+
+        clock.advance(Duration.ofSeconds(30));
+        assertThat(cache.take("b")).isEmpty();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void countsHitsAndMisses() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, Duration.ofMinutes(5), clock);
+
+        cache.put("a", "A");
+        cache.get("a");
+        cache.get("a");
+        cache.get("missing");
+        cache.invalidate("a");
+        cache.get("a");
+
+        CacheStats stats = cache.stats();
+        assertThat(stats.hits()).isEqualTo(2);
+        assertThat(stats.misses()).isEqualTo(2);
+        assertThat(stats.hitRatio()).isEqualTo(0.5);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedEntriesUntilUnderMaxWeight() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, 6, String::length, Duration.ofMinutes(5), clock);
+
+        cache.put("a", "AAA");
+        cache.put("b", "BB");
+        cache.get("a");
+        cache.put("c", "CC");
+
+        assertThat(cache.get("b")).isEmpty();
+        assertThat(cache.get("a")).contains("AAA");
+        assertThat(cache.weight()).isEqualTo(5);
+
+        cache.put("a", "A");
+        assertThat(cache.weight()).isEqualTo(3);
+    }
+
+    @Test
+    void dropsValuesHeavierThanMaxWeight() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, 4, String::length, Duration.ofMinutes(5), clock);
+
+        cache.put("big", "TOO BIG");
+
+        assertThat(cache.get("big")).isEmpty();
+        assertThat(cache.weight()).isZero();
+    }
+
+    @Test
+    void oversizedValueLeavesOtherEntriesInPlace() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, 4, String::length, Duration.ofMinutes(5), clock);
+        cache.put("a", "AA");
+        cache.put("b", "B");
+
+        cache.put("b", "TOO BIG");
+
+        assertThat(cache.get("a")).contains("AA");
+        assertThat(cache.get("b")).isEmpty();
+        assertThat(cache.weight()).isEqualTo(2);
+        assertThat(cache.stats().evictions()).isZero();
+    }
+
+    @Test
+    void invalidateIfRemovesMatchingKeysAndTheirWeight() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, 100, String::length, Duration.ofMinutes(5), clock);
+
+        cache.put("owner-1:a", "AAA");
+        cache.put("owner-1:b", "BB");
+        cache.put("owner-2:a", "C");
+        cache.invalidateIf(key -> key.startsWith("owner-1:"));
+
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.stats().weight()).isEqualTo(1);
+        assertThat(cache.get("owner-2:a")).contains("C");
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
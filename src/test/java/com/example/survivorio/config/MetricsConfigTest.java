@@ -0,0 +1,86 @@
+package com.example.survivorio.config;
+
+import com.example.survivorio.cache.BoundedCache;
+import com.example.survivorio.entity.AppUser;
+import com.example.survivorio.repository.AuthSessionRepository;
+import com.example.survivorio.repository.RevokedTokenRepository;
+import com.example.survivorio.service.PasswordHasher;
+import com.example.survivorio.service.SessionReaper;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MetricsConfigTest {
+    private final MetricsConfig metricsConfig = new MetricsConfig();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void publishesPasswordHashTimings() {
+        PasswordHasher passwordHasher = new PasswordHasher(1, 4, Duration.ofSeconds(10));
+        try {
+            metricsConfig.passwordHasherMetrics(passwordHasher).bindTo(registry);
+            passwordHasher.hash("secret");
+
+            FunctionTimer timer = registry.get("survivorio.auth.hash").functionTimer();
+            assertThat(timer.count()).isEqualTo(1);
+            assertThat(registry.get("survivorio.auth.hash.queue").gauge().value()).isZero();
+        } finally {
+            passwordHasher.shutdown();
+        }
+    }
+
+    @Test
+    void publishesSessionCacheHitsAndMisses() {
+        BoundedCache<String, AppUser> cache = new BoundedCache<>(10, Duration.ofMinutes(5));
+        metricsConfig.sessionCacheMetrics(cache).bindTo(registry);
+
+        cache.put("token", new AppUser());
+        cache.get("token");
+        cache.get("other");
+
+        assertThat(registry.get("survivorio.cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("survivorio.cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("survivorio.cache.size").tag("cache", "sessions").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void publishesPurgedSessionCount() {
+        AuthSessionRepository sessionRepository = mock(AuthSessionRepository.class);
+        when(sessionRepository.deleteExpiredBatch(any(), anyInt())).thenReturn(3);
+        SessionReaper sessionReaper = new SessionReaper(sessionRepository, mock(RevokedTokenRepository.class), 10, 1);
+        metricsConfig.sessionReaperMetrics(sessionReaper).bindTo(registry);
+
+        sessionReaper.reap();
+
+        assertThat(registry.get("survivorio.auth.sessions.purged").functionCounter().count()).isEqualTo(3);
+        assertThat(registry.get("survivorio.auth.sessions.reaper.runs").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void countsStatementsRunOnDecoratedTaskThreadsAgainstTheRequest() throws InterruptedException {
+        QueryCountInspector inspector = new QueryCountInspector();
+        AtomicInteger statements = QueryCountInspector.start();
+        Runnable task;
+        try {
+            task = metricsConfig.queryCountTaskDecorator().decorate(() -> inspector.inspect("select 1"));
+        } finally {
+            QueryCountInspector.clear();
+        }
+
+        Thread worker = new Thread(task);
+        worker.start();
+        worker.join();
+        inspector.inspect("select 2");
+
+        assertThat(statements.get()).isEqualTo(1);
+    }
+}
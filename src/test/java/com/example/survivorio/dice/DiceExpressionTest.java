@@ -0,0 +1,77 @@
+package com.example.survivorio.dice;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class DiceExpressionTest {
+    @Test
+    void compilesSumsOfDiceAndModifiers() {
+        DiceExpression expression = DiceExpression.parse(" 2d6 + D4 - 1 ");
+
+        assertThat(expression).hasToString("2d6+1d4-1");
+        assertThat(expression.min()).isEqualTo(2);
+        assertThat(expression.max()).isEqualTo(15);
+        assertThat(expression.mean()).isCloseTo(8.5, within(1e-9));
+    }
+
+    @Test
+    void keepsHighestOrLowestDice() {
+        DiceExpression advantage = DiceExpression.parse("2d20kh1");
+        DiceExpression disadvantage = DiceExpression.parse("2d20kl1");
+        DiceExpression abilityScore = DiceExpression.parse("4d6k3");
+
+        assertThat(advantage.mean()).isCloseTo(13.825, within(1e-9));
+        assertThat(disadvantage.mean()).isCloseTo(7.175, within(1e-9));
+        assertThat(abilityScore.mean()).isCloseTo(12.2446, within(1e-4));
+        assertThat(abilityScore.min()).isEqualTo(3);
+        assertThat(abilityScore.max()).isEqualTo(18);
+        assertThat(DiceExpression.parse("3d6kh3")).hasToString("3d6");
+    }
+
+    @Test
+    void rollsStayWithinBoundsAndAverageOut() {
+        SplittableRandom random = new SplittableRandom(11);
+        DiceExpression expression = DiceExpression.parse("4d6kh3+2");
+
+        long total = 0;
+        for (int i = 0; i < 100_000; i++) {
+            int roll = expression.roll(random);
+            assertThat(roll).isBetween(expression.min(), expression.max());
+            total += roll;
+        }
+
+        assertThat(total / 100_000.0).isCloseTo(expression.mean(), within(0.05));
+    }
+
+    @Test
+    void criticalRollsDoubleTheDiceButNotTheModifier() {
+        DiceExpression expression = DiceExpression.parse("1d1+3");
+
+        assertThat(expression.roll(new SplittableRandom(1))).isEqualTo(4);
+        assertThat(expression.rollCritical(new SplittableRandom(1))).isEqualTo(5);
+    }
+
+    @Test
+    void readsPercentileDiceAndNegativeTerms() {
+        assertThat(DiceExpression.parse("d%")).hasToString("1d100");
+        assertThat(DiceExpression.parse("-1d4+10").min()).isEqualTo(6);
+        assertThat(DiceExpression.parse("5").roll(new SplittableRandom())).isEqualTo(5);
+    }
+
+    @Test
+    void rejectsMalformedOrOversizedExpressions() {
+        assertThatThrownBy(() -> DiceExpression.parse("")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> DiceExpression.parse("1d")).hasMessageContaining("die size");
+        assertThatThrownBy(() -> DiceExpression.parse("2d6*2")).hasMessageContaining("'*'");
+        assertThatThrownBy(() -> DiceExpression.parse("1000d6")).hasMessageContaining("Dice count");
+        assertThatThrownBy(() -> DiceExpression.parse("60d6+60d6")).hasMessageContaining("more than 100 dice");
+        assertThatThrownBy(() -> DiceExpression.parse("1d100000")).hasMessageContaining("Die size");
+        assertThatThrownBy(() -> DiceExpression.parse("2d6kh3")).hasMessageContaining("keep");
+        assertThatThrownBy(() -> DiceExpression.parse("1d6+".repeat(30))).hasMessageContaining("longer");
+    }
+}
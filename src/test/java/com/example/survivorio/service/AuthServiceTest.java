@@ -1,42 +1,69 @@
 package com.example.survivorio.service;
 
+import com.example.survivorio.cache.BoundedCache;
 import com.example.survivorio.dto.AuthRequest;
 import com.example.survivorio.dto.AuthResponse;
 import com.example.survivorio.entity.AppUser;
 import com.example.survivorio.entity.AuthSession;
 import com.example.survivorio.repository.AuthSessionRepository;
+import com.example.survivorio.repository.RevokedTokenRepository;
 import com.example.survivorio.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class AuthServiceTest {
+    private static final String SECRET = Base64.getEncoder().encodeToString(new byte[32]);
+
     @Mock
     private UserRepository userRepository;
 
     @Mock
     private AuthSessionRepository sessionRepository;
 
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Mock
+    private ApplicationEventPublisher events;
+
+    private PasswordHasher passwordHasher;
     private AuthService authService;
 
     @BeforeEach
     void setUp() {
-        authService = new AuthService(userRepository, sessionRepository);
+        passwordHasher = new PasswordHasher(1, 4, Duration.ofSeconds(10));
+        authService = authService(AuthMode.SESSION);
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHasher.shutdown();
     }
 
     @Test
@@ -64,6 +91,8 @@ class AuthServiceTest {
         ArgumentCaptor<AuthSession> sessionCaptor = ArgumentCaptor.forClass(AuthSession.class);
         verify(sessionRepository).save(sessionCaptor.capture());
         assertThat(sessionCaptor.getValue().getUser()).isSameAs(savedUser.get());
+        assertThat(sessionCaptor.getValue().getExpiresAt())
+                .isAfter(sessionCaptor.getValue().getCreatedAt().plus(Duration.ofDays(29)));
     }
 
     @Test
@@ -83,4 +112,140 @@ class AuthServiceTest {
                 .extracting(exception -> ((ResponseStatusException) exception).getStatusCode())
                 .isEqualTo(HttpStatus.UNAUTHORIZED);
     }
+
+    @Test
+    void requireUserServesRepeatedLookupsFromCache() {
+        when(sessionRepository.findWithUserByToken("token-1")).thenReturn(Optional.of(session("token-1")));
+
+        AppUser first = authService.requireUser("Bearer token-1");
+        AppUser second = authService.requireUser("Bearer token-1");
+
+        assertThat(first.getId()).isEqualTo(1L);
+        assertThat(first.getPasswordHash()).isNull();
+        assertThat(second).isSameAs(first);
+        verify(sessionRepository, times(1)).findWithUserByToken("token-1");
+    }
+
+    @Test
+    void logoutInvalidatesCachedSession() {
+        when(sessionRepository.findWithUserByToken("token-1"))
+                .thenReturn(Optional.of(session("token-1")))
+                .thenReturn(Optional.empty());
+
+        authService.requireUser("Bearer token-1");
+        authService.logout("Bearer token-1");
+
+        verify(sessionRepository).deleteByToken("token-1");
+        verify(events).publishEvent(new SessionRevokedEvent(AuthService.sessionKey("token-1")));
+        assertThatThrownBy(() -> authService.requireUser("Bearer token-1"))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(exception -> ((ResponseStatusException) exception).getStatusCode())
+                .isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    void requireUserRejectsExpiredSession() {
+        AuthSession expired = session("token-1");
+        expired.setExpiresAt(Instant.now().minusSeconds(1));
+        when(sessionRepository.findWithUserByToken("token-1")).thenReturn(Optional.of(expired));
+
+        assertThatThrownBy(() -> authService.requireUser("Bearer token-1"))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(exception -> ((ResponseStatusException) exception).getStatusCode())
+                .isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    void requireUserRenewsSessionPastHalfItsLifetime() {
+        AuthSession aging = session("token-1");
+        aging.setId(5L);
+        aging.setExpiresAt(Instant.now().plus(Duration.ofDays(2)));
+        when(sessionRepository.findWithUserByToken("token-1")).thenReturn(Optional.of(aging));
+
+        authService.requireUser("Bearer token-1");
+
+        ArgumentCaptor<Instant> renewedUntil = ArgumentCaptor.forClass(Instant.class);
+        verify(sessionRepository).renew(eq(5L), renewedUntil.capture());
+        assertThat(renewedUntil.getValue()).isAfter(Instant.now().plus(Duration.ofDays(29)));
+    }
+
+    @Test
+    void requireUserLeavesFreshSessionUntouched() {
+        when(sessionRepository.findWithUserByToken("token-1")).thenReturn(Optional.of(session("token-1")));
+
+        authService.requireUser("Bearer token-1");
+
+        verify(sessionRepository, never()).renew(any(), any());
+    }
+
+    @Test
+    void signedModeIssuesTokensThatNeedNoSessionLookup() {
+        AuthService signed = authService(AuthMode.SIGNED);
+        when(userRepository.existsByUsernameIgnoreCase("Hero")).thenReturn(false);
+        when(userRepository.save(any(AppUser.class))).thenAnswer(invocation -> {
+            AppUser user = invocation.getArgument(0);
+            user.setId(7L);
+            return user;
+        });
+
+        String token = signed.register(new AuthRequest("Hero", "secret")).token();
+        AppUser principal = signed.requireUser("Bearer " + token);
+
+        assertThat(principal.getId()).isEqualTo(7L);
+        assertThat(principal.getUsername()).isEqualTo("Hero");
+        verifyNoInteractions(sessionRepository);
+    }
+
+    @Test
+    void signedModeLogoutRevokesToken() {
+        AuthService signed = authService(AuthMode.SIGNED);
+        String token = new SignedTokenCodec(SECRET).issue(7L, "Hero", Instant.now().plus(Duration.ofDays(1)));
+
+        signed.logout("Bearer " + token);
+
+        verify(revokedTokenRepository).revoke(anyLong(), any());
+        verify(events).publishEvent(any(TokenRevokedEvent.class));
+        assertThatThrownBy(() -> signed.requireUser("Bearer " + token))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(exception -> ((ResponseStatusException) exception).getStatusCode())
+                .isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    void signedModeRejectsExpiredTokens() {
+        AuthService signed = authService(AuthMode.SIGNED);
+        String token = new SignedTokenCodec(SECRET).issue(7L, "Hero", Instant.now().minusSeconds(1));
+
+        assertThatThrownBy(() -> signed.requireUser("Bearer " + token))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(exception -> ((ResponseStatusException) exception).getStatusCode())
+                .isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    private AuthService authService(AuthMode mode) {
+        return new AuthService(
+                userRepository,
+                sessionRepository,
+                new BoundedCache<>(100, Duration.ofMinutes(5)),
+                passwordHasher,
+                Duration.ofDays(30),
+                mode,
+                new SignedTokenCodec(SECRET),
+                new TokenDenyList(revokedTokenRepository, mode),
+                events
+        );
+    }
+
+    private AuthSession session(String token) {
+        AppUser user = new AppUser();
+        user.setId(1L);
+        user.setUsername("Hero");
+        user.setPasswordHash("hash");
+
+        AuthSession session = new AuthSession();
+        session.setToken(token);
+        session.setUser(user);
+        session.setExpiresAt(Instant.now().plus(Duration.ofDays(30)));
+        return session;
+    }
 }
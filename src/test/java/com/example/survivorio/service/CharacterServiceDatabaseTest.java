@@ -0,0 +1,123 @@
+package com.example.survivorio.service;
+
+import com.example.survivorio.entity.AppUser;
+import com.example.survivorio.entity.Character;
+import com.example.survivorio.repository.CharacterRepository;
+import com.example.survivorio.repository.UserRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(CharacterService.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class CharacterServiceDatabaseTest {
+    private static final EmbeddedPostgres POSTGRES = start();
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @MockitoBean
+    private ImageStore imageStore;
+
+    @MockitoBean
+    private SheetVersionService sheetVersions;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CharacterRepository characterRepository;
+
+    @Autowired
+    private CharacterService characterService;
+
+    private AppUser owner;
+
+    @BeforeEach
+    void setUp() {
+        AppUser user = new AppUser();
+        user.setUsername("writer-" + UUID.randomUUID());
+        user.setPasswordHash("hash");
+        user.setCreatedAt(Instant.now());
+        owner = userRepository.save(user);
+    }
+
+    @Test
+    void createRollsBackWhenTheListVersionCannotBeRaised() {
+        failVersionBumps();
+        Character character = new Character();
+        character.setName("Mira");
+
+        assertThatThrownBy(() -> characterService.create(owner, character)).isInstanceOf(IllegalStateException.class);
+
+        assertThat(characterRepository.findAllByOwnerOrderByCreatedAtDesc(owner)).isEmpty();
+    }
+
+    @Test
+    void updateRollsBackWhenTheListVersionCannotBeRaised() {
+        Long id = created("Mira").getId();
+        failVersionBumps();
+        Character changes = new Character();
+        changes.setName("Mira the Bold");
+
+        assertThatThrownBy(() -> characterService.update(owner, id, changes, null)).isInstanceOf(IllegalStateException.class);
+
+        assertThat(characterRepository.findById(id)).get().extracting(Character::getName).isEqualTo("Mira");
+    }
+
+    @Test
+    void deleteRollsBackWhenTheListVersionCannotBeRaised() {
+        Long id = created("Mira").getId();
+        failVersionBumps();
+
+        assertThatThrownBy(() -> characterService.delete(owner, id, null)).isInstanceOf(IllegalStateException.class);
+
+        assertThat(characterRepository.findById(id)).isPresent();
+    }
+
+    private Character created(String name) {
+        Character character = new Character();
+        character.setName(name);
+        return characterService.create(owner, character);
+    }
+
+    private void failVersionBumps() {
+        doThrow(new IllegalStateException("version bump failed")).when(sheetVersions).onSheetChanged(any());
+    }
+
+    private static EmbeddedPostgres start() {
+        try {
+            return EmbeddedPostgres.builder().start();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+}
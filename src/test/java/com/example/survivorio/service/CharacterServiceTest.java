@@ -1,21 +1,32 @@
 package com.example.survivorio.service;
 
+import com.example.survivorio.dto.SheetBulkRequest;
+import com.example.survivorio.dto.SheetBulkResult;
+import com.example.survivorio.dto.SheetPage;
+import com.example.survivorio.dto.SheetType;
 import com.example.survivorio.entity.AppUser;
 import com.example.survivorio.entity.Character;
 import com.example.survivorio.repository.CharacterRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -24,11 +35,17 @@ class CharacterServiceTest {
     @Mock
     private CharacterRepository repository;
 
+    @Mock
+    private ImageStore imageStore;
+
+    @Mock
+    private ApplicationEventPublisher events;
+
     private CharacterService characterService;
 
     @BeforeEach
     void setUp() {
-        characterService = new CharacterService(repository);
+        characterService = new CharacterService(repository, imageStore, new ObjectMapper(), events);
     }
 
     @Test
@@ -44,8 +61,76 @@ class CharacterServiceTest {
 
         assertThat(saved.getId()).isNull();
         assertThat(saved.getOwner()).isSameAs(owner);
-        assertThat(saved.getCreatedAt()).isNotBlank();
+        assertThat(saved.getCreatedAt()).isNotNull();
         verify(repository).save(character);
+        verify(events).publishEvent(any(SheetChangedEvent.class));
+    }
+
+    @Test
+    void getPageReturnsCursorPointingAfterLastItem() {
+        AppUser owner = new AppUser();
+        Character newest = sheet(3L, "2024-03-01T00:00:00Z");
+        Character middle = sheet(2L, "2024-02-01T00:00:00Z");
+        Character oldest = sheet(1L, "2024-01-01T00:00:00Z");
+
+        when(repository.findAllByOwnerOrderByCreatedAtDescIdDesc(owner, Limit.of(3)))
+                .thenReturn(List.of(newest, middle, oldest));
+        when(repository.findPageByOwnerAfter(owner, Instant.parse("2024-02-01T00:00:00Z"), 2L, Limit.of(3)))
+                .thenReturn(List.of(oldest));
+
+        SheetPage<Character> first = characterService.getPage(owner, null, 2);
+        SheetPage<Character> second = characterService.getPage(owner, first.nextCursor(), 2);
+
+        assertThat(first.items()).containsExactly(newest, middle);
+        assertThat(first.nextCursor()).isNotBlank();
+        assertThat(second.items()).containsExactly(oldest);
+        assertThat(second.nextCursor()).isNull();
+    }
+
+    @Test
+    void forEachStopsAfterAShortFirstChunk() throws Exception {
+        AppUser owner = new AppUser();
+        Character first = sheet(2L, "2024-02-01T00:00:00Z");
+        Character second = sheet(1L, "2024-01-01T00:00:00Z");
+        when(repository.findAllByOwnerOrderByCreatedAtDescIdDesc(owner, Limit.of(CharacterService.FOR_EACH_CHUNK_SIZE)))
+                .thenReturn(List.of(first, second));
+
+        List<Long> written = new ArrayList<>();
+        characterService.forEach(owner, character -> written.add(character.getId()));
+
+        assertThat(written).containsExactly(2L, 1L);
+        verify(repository, never()).findPageByOwnerAfter(any(), any(), any(), any());
+    }
+
+    @Test
+    void forEachReadsFullChunksByKeysetUntilOneComesBackShort() throws Exception {
+        AppUser owner = new AppUser();
+        Limit chunk = Limit.of(CharacterService.FOR_EACH_CHUNK_SIZE);
+        List<Character> firstChunk = new ArrayList<>();
+        Instant start = Instant.parse("2024-06-01T00:00:00Z");
+        for (long id = CharacterService.FOR_EACH_CHUNK_SIZE + 1; id > 1; id--) {
+            Character character = new Character();
+            character.setId(id);
+            character.setCreatedAt(start.plusSeconds(id));
+            firstChunk.add(character);
+        }
+        Character last = firstChunk.get(firstChunk.size() - 1);
+        Character oldest = sheet(1L, "2024-01-01T00:00:00Z");
+        when(repository.findAllByOwnerOrderByCreatedAtDescIdDesc(owner, chunk)).thenReturn(firstChunk);
+        when(repository.findPageByOwnerAfter(owner, last.getCreatedAt(), last.getId(), chunk)).thenReturn(List.of(oldest));
+
+        List<Long> written = new ArrayList<>();
+        characterService.forEach(owner, character -> written.add(character.getId()));
+
+        assertThat(written).hasSize(CharacterService.FOR_EACH_CHUNK_SIZE + 1).endsWith(2L, 1L);
+    }
+
+    @Test
+    void getPageRejectsMalformedCursor() {
+        assertThatThrownBy(() -> characterService.getPage(new AppUser(), "not-a-cursor", 2))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(exception -> ((ResponseStatusException) exception).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
     }
 
     @Test
@@ -54,7 +139,7 @@ class CharacterServiceTest {
         Character existing = new Character();
         existing.setId(7L);
         existing.setOwner(owner);
-        existing.setCreatedAt("old-date");
+        existing.setCreatedAt(Instant.parse("2024-01-01T00:00:00Z"));
 
         Character data = new Character();
         data.setName("Mira");
@@ -66,12 +151,13 @@ class CharacterServiceTest {
         data.setGear("Spellbook");
         data.setJournal("Found the lost tower.");
         data.setProfileImage("data:image/png;base64,portrait");
-        data.setCreatedAt("new-date");
+        data.setCreatedAt(Instant.parse("2024-06-01T00:00:00Z"));
 
         when(repository.findByIdAndOwner(7L, owner)).thenReturn(Optional.of(existing));
         when(repository.save(any(Character.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(imageStore.toReference("data:image/png;base64,portrait")).thenReturn("/api/images/portrait.png");
 
-        Character updated = characterService.update(owner, 7L, data);
+        Character updated = characterService.update(owner, 7L, data, null);
 
         assertThat(updated.getName()).isEqualTo("Mira");
         assertThat(updated.getGender()).isEqualTo("female");
@@ -81,9 +167,9 @@ class CharacterServiceTest {
         assertThat(updated.getAc()).isEqualTo(12);
         assertThat(updated.getGear()).isEqualTo("Spellbook");
         assertThat(updated.getJournal()).isEqualTo("Found the lost tower.");
-        assertThat(updated.getProfileImage()).isEqualTo("data:image/png;base64,portrait");
+        assertThat(updated.getProfileImage()).isEqualTo("/api/images/portrait.png");
         assertThat(updated.getOwner()).isSameAs(owner);
-        assertThat(updated.getCreatedAt()).isEqualTo("new-date");
+        assertThat(updated.getCreatedAt()).isEqualTo(Instant.parse("2024-06-01T00:00:00Z"));
         verify(repository).findByIdAndOwner(7L, owner);
     }
 
@@ -92,12 +178,96 @@ class CharacterServiceTest {
         AppUser owner = new AppUser();
         when(repository.findByIdAndOwner(7L, owner)).thenReturn(Optional.empty());
 
-        assertThatThrownBy(() -> characterService.update(owner, 7L, new Character()))
+        assertThatThrownBy(() -> characterService.update(owner, 7L, new Character(), null))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(exception -> ((ResponseStatusException) exception).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void updateRejectsStaleVersion() {
+        AppUser owner = new AppUser();
+        Character existing = new Character();
+        existing.setId(7L);
+        existing.setOwner(owner);
+        existing.setVersion(4L);
+
+        when(repository.findByIdAndOwner(7L, owner)).thenReturn(Optional.of(existing));
+
+        assertThatThrownBy(() -> characterService.update(owner, 7L, new Character(), 3L))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(exception -> ((ResponseStatusException) exception).getStatusCode())
+                .isEqualTo(HttpStatus.PRECONDITION_FAILED);
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void getReturnsNotFoundWhenCharacterDoesNotBelongToUser() {
+        AppUser owner = new AppUser();
+        when(repository.findByIdAndOwner(7L, owner)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> characterService.get(owner, 7L))
                 .isInstanceOf(ResponseStatusException.class)
                 .extracting(exception -> ((ResponseStatusException) exception).getStatusCode())
                 .isEqualTo(HttpStatus.NOT_FOUND);
     }
 
+    @Test
+    void patchOnlyChangesFieldsPresentInPatch() throws Exception {
+        AppUser owner = new AppUser();
+        Character existing = new Character();
+        existing.setId(7L);
+        existing.setOwner(owner);
+        existing.setName("Mira");
+        existing.setLevel(3);
+        existing.setJournal("Found the lost tower.");
+        existing.setProfileImage("/api/images/portrait.png");
+        existing.setCreatedAt(Instant.parse("2024-01-01T00:00:00Z"));
+        existing.setVersion(3L);
+
+        when(repository.findByIdAndOwner(7L, owner)).thenReturn(Optional.of(existing));
+        when(repository.save(any(Character.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Character patched = characterService.patch(owner, 7L, new ObjectMapper().readTree(
+                "{\"id\": 99, \"version\": 42, \"name\": \"Mira the Bold\", \"level\": 4}"), null);
+
+        assertThat(patched.getId()).isEqualTo(7L);
+        assertThat(patched.getVersion()).isEqualTo(3L);
+        assertThat(patched.getName()).isEqualTo("Mira the Bold");
+        assertThat(patched.getLevel()).isEqualTo(4);
+        assertThat(patched.getJournal()).isEqualTo("Found the lost tower.");
+        assertThat(patched.getProfileImage()).isEqualTo("/api/images/portrait.png");
+        assertThat(patched.getCreatedAt()).isEqualTo(Instant.parse("2024-01-01T00:00:00Z"));
+        verify(imageStore, never()).toReference(any());
+    }
+
+    @Test
+    void patchStoresNewProfileImage() throws Exception {
+        AppUser owner = new AppUser();
+        Character existing = new Character();
+        existing.setId(7L);
+        existing.setOwner(owner);
+
+        when(repository.findByIdAndOwner(7L, owner)).thenReturn(Optional.of(existing));
+        when(repository.save(any(Character.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(imageStore.toReference("data:image/png;base64,portrait")).thenReturn("/api/images/portrait.png");
+
+        Character patched = characterService.patch(owner, 7L, new ObjectMapper().readTree(
+                "{\"profileImage\": \"data:image/png;base64,portrait\"}"), null);
+
+        assertThat(patched.getProfileImage()).isEqualTo("/api/images/portrait.png");
+    }
+
+    @Test
+    void patchRejectsNonObjectBody() throws Exception {
+        AppUser owner = new AppUser();
+
+        assertThatThrownBy(() -> characterService.patch(owner, 7L, new ObjectMapper().readTree("[1, 2]"), null))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(exception -> ((ResponseStatusException) exception).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
     @Test
     void deleteOnlyRemovesSheetOwnedByCurrentUser() {
         AppUser owner = new AppUser();
@@ -107,9 +277,10 @@ class CharacterServiceTest {
 
         when(repository.findByIdAndOwner(7L, owner)).thenReturn(Optional.of(existing));
 
-        characterService.delete(owner, 7L);
+        characterService.delete(owner, 7L, null);
 
         verify(repository).delete(existing);
+        verify(events).publishEvent(SheetChangedEvent.deleted(null, SheetType.CHARACTER, 7L));
     }
 
     @Test
@@ -117,9 +288,57 @@ class CharacterServiceTest {
         AppUser owner = new AppUser();
         when(repository.findByIdAndOwner(7L, owner)).thenReturn(Optional.empty());
 
-        assertThatThrownBy(() -> characterService.delete(owner, 7L))
+        assertThatThrownBy(() -> characterService.delete(owner, 7L, null))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(exception -> ((ResponseStatusException) exception).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void bulkAppliesCreatesUpdatesAndDeletesTogether() {
+        AppUser owner = new AppUser();
+        Character created = new Character();
+        created.setId(99L);
+        created.setName("Nyx");
+        Character changes = new Character();
+        changes.setId(7L);
+        changes.setName("Mira");
+        Character existing = sheet(7L, "2024-01-01T00:00:00Z");
+        Character doomed = sheet(8L, "2024-01-02T00:00:00Z");
+
+        when(repository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(repository.findAllByOwnerAndIdIn(owner, List.of(7L))).thenReturn(List.of(existing));
+        when(repository.findAllByOwnerAndIdIn(owner, List.of(8L))).thenReturn(List.of(doomed));
+
+        SheetBulkResult<Character> result = characterService.bulk(
+                owner, new SheetBulkRequest<>(List.of(created), List.of(changes), List.of(8L)));
+
+        assertThat(result.created()).singleElement().satisfies(character -> {
+            assertThat(character.getId()).isNull();
+            assertThat(character.getOwner()).isSameAs(owner);
+        });
+        assertThat(result.updated()).singleElement().extracting(Character::getName).isEqualTo("Mira");
+        assertThat(result.deleted()).isEqualTo(1);
+        verify(repository).deleteAll(List.of(doomed));
+        verify(events).publishEvent(SheetChangedEvent.bulk(null, SheetType.CHARACTER));
+    }
+
+    @Test
+    void bulkReturnsNotFoundWhenAnySheetDoesNotBelongToUser() {
+        AppUser owner = new AppUser();
+        when(repository.findAllByOwnerAndIdIn(owner, List.of(7L, 8L))).thenReturn(List.of(sheet(7L, "2024-01-01T00:00:00Z")));
+
+        assertThatThrownBy(() -> characterService.bulk(owner, new SheetBulkRequest<>(null, null, List.of(7L, 8L))))
                 .isInstanceOf(ResponseStatusException.class)
                 .extracting(exception -> ((ResponseStatusException) exception).getStatusCode())
                 .isEqualTo(HttpStatus.NOT_FOUND);
+        verify(repository, never()).deleteAll(any());
+    }
+
+    private Character sheet(Long id, String createdAt) {
+        Character character = new Character();
+        character.setId(id);
+        character.setCreatedAt(Instant.parse(createdAt));
+        return character;
     }
 }
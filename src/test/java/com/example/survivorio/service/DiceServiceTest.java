@@ -0,0 +1,90 @@
+package com.example.survivorio.service;
+
+import com.example.survivorio.cache.BoundedCache;
+import com.example.survivorio.dice.DiceExpression;
+import com.example.survivorio.dto.DiceBulkRollRequest;
+import com.example.survivorio.dto.DiceRollRequest;
+import com.example.survivorio.dto.DiceRollResult;
+import org.assertj.core.api.ThrowableAssert.ThrowingCallable;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DiceServiceTest {
+    private final BoundedCache<String, DiceExpression> cache = new BoundedCache<>(10, Duration.ofMinutes(5));
+    private final DiceService diceService = new DiceService(cache, 50, 5);
+
+    @Test
+    void cachesCompiledExpressionsByNormalizedText() {
+        DiceExpression first = diceService.compile("1d20+5");
+        DiceExpression second = diceService.compile(" 1D20+5\t");
+
+        assertThat(second).isSameAs(first);
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.stats().hits()).isEqualTo(1);
+    }
+
+    @Test
+    void rollsRequestedCount() {
+        DiceRollResult result = diceService.roll(new DiceRollRequest("damage", "2d6+1", 20));
+
+        assertThat(result.label()).isEqualTo("damage");
+        assertThat(result.expression()).isEqualTo("2d6+1");
+        assertThat(result.rolls()).hasSize(20).allSatisfy(roll -> assertThat(roll).isBetween(3, 13));
+        assertThat(result.total()).isEqualTo(Arrays.stream(result.rolls()).sum());
+    }
+
+    @Test
+    void bulkRollKeepsRequestOrder() {
+        List<DiceRollResult> results = diceService.rollAll(new DiceBulkRollRequest(List.of(
+                new DiceRollRequest("Goblin", "1d20+1", null),
+                new DiceRollRequest("Ogre", "1d20-1", null)
+        )));
+
+        assertThat(results).extracting(DiceRollResult::label).containsExactly("Goblin", "Ogre");
+        assertThat(results).allSatisfy(result -> assertThat(result.rolls()).hasSize(1));
+    }
+
+    @Test
+    void rejectsInvalidRequestsAsBadRequest() {
+        List<DiceRollRequest> tooMany = Collections.nCopies(6, new DiceRollRequest(null, "1d20", null));
+
+        assertBadRequest(() -> diceService.compile("fireball"));
+        assertBadRequest(() -> diceService.roll(new DiceRollRequest(null, "1d6", 51)));
+        assertBadRequest(() -> diceService.rollAll(new DiceBulkRollRequest(tooMany)));
+        assertBadRequest(() -> diceService.rollAll(new DiceBulkRollRequest(List.of(
+                new DiceRollRequest(null, "1d6", 30),
+                new DiceRollRequest(null, "1d6", 30)
+        ))));
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void doesNotJoinNumbersSeparatedByWhitespace() {
+        assertBadRequest(() -> diceService.compile("1 2d6"));
+        assertThat(diceService.compile("1d6 + 2").toString()).isEqualTo("1d6+2");
+    }
+
+    @Test
+    void rejectsNullBulkEntriesAsBadRequest() {
+        assertBadRequest(() -> diceService.rollAll(new DiceBulkRollRequest(Arrays.asList(
+                new DiceRollRequest(null, "1d20", null),
+                null
+        ))));
+    }
+
+    private static void assertBadRequest(ThrowingCallable call) {
+        assertThatThrownBy(call)
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(exception -> ((ResponseStatusException) exception).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+}
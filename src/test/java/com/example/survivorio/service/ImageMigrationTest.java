@@ -0,0 +1,153 @@
+package com.example.survivorio.service;
+
+import com.example.survivorio.dto.SheetType;
+import com.example.survivorio.entity.AppUser;
+import com.example.survivorio.entity.Character;
+import com.example.survivorio.repository.CharacterRepository;
+import com.example.survivorio.repository.MonsterRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ImageMigrationTest {
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n', 0, 0, 0, 13};
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private CharacterRepository characterRepository;
+
+    @Mock
+    private MonsterRepository monsterRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ApplicationEventPublisher events;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement statement;
+
+    @Mock
+    private ResultSet result;
+
+    private ImageStore imageStore;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        imageStore = new ImageStore(directory.toString(), "", event -> { });
+        when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+                .thenAnswer(invocation -> invocation.<ConnectionCallback<?>>getArgument(0).doInConnection(connection));
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(result);
+        when(result.next()).thenReturn(true);
+    }
+
+    @Test
+    void keepsImagesItCannotMoveAndContinuesPastThem() throws Exception {
+        when(result.getBoolean(1)).thenReturn(true);
+        String unsupported = "data:image/svg+xml;base64," + Base64.getEncoder().encodeToString("<svg/>".getBytes());
+        String notBase64 = "data:image/png,raw";
+        String png = "data:image/png;base64," + Base64.getEncoder().encodeToString(PNG);
+        Character svg = character(1L, unsupported);
+        Character plain = character(2L, notBase64);
+        Character moved = character(3L, png);
+
+        when(characterRepository.findTop50ByIdGreaterThanAndProfileImageStartingWithOrderByIdAsc(eq(0L), anyString()))
+                .thenReturn(List.of(svg, plain, moved));
+        when(characterRepository.findTop50ByIdGreaterThanAndProfileImageStartingWithOrderByIdAsc(eq(3L), anyString()))
+                .thenReturn(List.of());
+        when(monsterRepository.findTop50ByIdGreaterThanAndProfileImageStartingWithOrderByIdAsc(eq(0L), anyString()))
+                .thenReturn(List.of());
+        when(characterRepository.save(any(Character.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        migration().run(null);
+
+        assertThat(svg.getProfileImage()).isEqualTo(unsupported);
+        assertThat(plain.getProfileImage()).isEqualTo(notBase64);
+        assertThat(moved.getProfileImage()).startsWith(ImageStore.REFERENCE_PATH).endsWith(".png");
+        verify(characterRepository).save(moved);
+        verify(events).publishEvent(SheetChangedEvent.updated(10L, SheetType.CHARACTER, 3L, moved));
+    }
+
+    @Test
+    void treatsRowsChangedConcurrentlyAsAlreadyMigrated() throws Exception {
+        when(result.getBoolean(1)).thenReturn(true);
+        String png = "data:image/png;base64," + Base64.getEncoder().encodeToString(PNG);
+        Character raced = character(1L, png);
+        Character moved = character(2L, png);
+
+        when(characterRepository.findTop50ByIdGreaterThanAndProfileImageStartingWithOrderByIdAsc(eq(0L), anyString()))
+                .thenReturn(List.of(raced, moved));
+        when(characterRepository.findTop50ByIdGreaterThanAndProfileImageStartingWithOrderByIdAsc(eq(2L), anyString()))
+                .thenReturn(List.of());
+        when(monsterRepository.findTop50ByIdGreaterThanAndProfileImageStartingWithOrderByIdAsc(eq(0L), anyString()))
+                .thenReturn(List.of());
+        when(characterRepository.save(raced)).thenThrow(new ObjectOptimisticLockingFailureException(Character.class, 1L));
+        when(characterRepository.save(moved)).thenReturn(moved);
+
+        migration().run(null);
+
+        verify(events, never()).publishEvent(argThat((Object event) ->
+                event instanceof SheetChangedEvent changed && changed.sheetId().equals(1L)));
+        verify(events).publishEvent(SheetChangedEvent.updated(10L, SheetType.CHARACTER, 2L, moved));
+    }
+
+    @Test
+    void skipsTheMigrationWhileAnotherInstanceHoldsTheLock() throws Exception {
+        when(result.getBoolean(1)).thenReturn(false);
+
+        migration().run(null);
+
+        verifyNoInteractions(characterRepository, monsterRepository, events);
+    }
+
+    private ImageMigration migration() {
+        return new ImageMigration(characterRepository, monsterRepository, imageStore, transactionManager,
+                jdbcTemplate, events, true);
+    }
+
+    private static Character character(Long id, String profileImage) {
+        AppUser owner = new AppUser();
+        owner.setId(10L);
+        Character character = new Character();
+        character.setId(id);
+        character.setOwner(owner);
+        character.setProfileImage(profileImage);
+        return character;
+    }
+}
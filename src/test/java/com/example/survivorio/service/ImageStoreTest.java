@@ -0,0 +1,130 @@
+package com.example.survivorio.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ImageStoreTest {
+    @TempDir
+    Path directory;
+
+    private final List<Object> events = new ArrayList<>();
+    private ImageStore imageStore;
+
+    @BeforeEach
+    void setUp() {
+        imageStore = new ImageStore(directory.toString(), "", events::add);
+    }
+
+    @Test
+    void storesDataUrlOnceByContentHash() throws Exception {
+        String dataUrl = "data:image/png;base64," + Base64.getEncoder().encodeToString(png(1, 2, 3));
+
+        String first = imageStore.toReference(dataUrl);
+        String second = imageStore.toReference(dataUrl);
+
+        assertThat(first)
+                .isEqualTo(second)
+                .startsWith(ImageStore.REFERENCE_PATH)
+                .endsWith(".png");
+
+        String name = first.substring(ImageStore.REFERENCE_PATH.length());
+        Path stored = imageStore.resolve(name).orElseThrow();
+        assertThat(Files.readAllBytes(stored)).containsExactly(png(1, 2, 3));
+        assertThat(events).containsExactly(new ImageStoredEvent(name, stored));
+    }
+
+    @Test
+    void streamedUploadMatchesDataUrlReference() {
+        String fromStream = imageStore.store(new ByteArrayInputStream(png(1, 2, 3)), "image/png");
+        String fromDataUrl = imageStore.toReference(
+                "data:image/png;base64," + Base64.getEncoder().encodeToString(png(1, 2, 3)));
+
+        assertThat(fromStream).isEqualTo(fromDataUrl);
+        assertThat(events).hasSize(1);
+    }
+
+    @Test
+    void thumbnailIsOnlyReferencedOnceGenerated() {
+        String reference = imageStore.store(png(4, 5, 6), "image/png");
+        String hash = ImageStore.contentHash(reference.substring(ImageStore.REFERENCE_PATH.length()));
+
+        assertThat(imageStore.thumbnail(reference, 96)).isEmpty();
+
+        imageStore.storeThumbnail(hash, 96, "jpg", new byte[] {7});
+
+        assertThat(imageStore.thumbnail(reference, 96)).contains(ImageStore.REFERENCE_PATH + hash + "-96.jpg");
+        assertThat(imageStore.resolve(hash + "-96.jpg")).isPresent();
+        assertThat(imageStore.thumbnail("/portrait-male.png", 96)).isEmpty();
+    }
+
+    @Test
+    void leavesReferencesAndDefaultsUntouched() {
+        assertThat(imageStore.toReference(null)).isNull();
+        assertThat(imageStore.toReference("/portrait-male.png")).isEqualTo("/portrait-male.png");
+    }
+
+    @Test
+    void rejectsUnsupportedImageTypes() {
+        String dataUrl = "data:image/svg+xml;base64," + Base64.getEncoder().encodeToString("<svg/>".getBytes());
+
+        assertThatThrownBy(() -> imageStore.toReference(dataUrl))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(exception -> ((ResponseStatusException) exception).getStatusCode())
+                .isEqualTo(HttpStatus.UNSUPPORTED_MEDIA_TYPE);
+    }
+
+    @Test
+    void rejectsContentThatDoesNotMatchItsDeclaredType() {
+        String html = "data:image/png;base64," + Base64.getEncoder().encodeToString("<html><script>".getBytes());
+
+        assertThatThrownBy(() -> imageStore.toReference(html))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(exception -> ((ResponseStatusException) exception).getStatusCode())
+                .isEqualTo(HttpStatus.UNSUPPORTED_MEDIA_TYPE);
+        assertThatThrownBy(() -> imageStore.store(new ByteArrayInputStream(png(1, 2, 3)), "image/jpeg"))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(exception -> ((ResponseStatusException) exception).getStatusCode())
+                .isEqualTo(HttpStatus.UNSUPPORTED_MEDIA_TYPE);
+        assertThat(events).isEmpty();
+    }
+
+    @Test
+    void recognisesEachSupportedSignature() {
+        byte[] jpeg = {(byte) 0xff, (byte) 0xd8, (byte) 0xff, (byte) 0xe0};
+        byte[] gif = "GIF89a..".getBytes();
+        byte[] webp = "RIFF\0\0\0\0WEBPVP8 ".getBytes();
+        byte[] avif = "\0\0\0\u001cftypavif".getBytes();
+
+        assertThat(imageStore.store(jpeg, "image/jpeg")).endsWith(".jpg");
+        assertThat(imageStore.store(gif, "image/gif")).endsWith(".gif");
+        assertThat(imageStore.store(webp, "image/webp")).endsWith(".webp");
+        assertThat(imageStore.store(avif, "image/avif")).endsWith(".avif");
+    }
+
+    @Test
+    void resolveRejectsNamesOutsideTheStore() {
+        assertThat(imageStore.resolve("../../etc/passwd")).isEmpty();
+    }
+
+    private static byte[] png(int... content) {
+        byte[] bytes = new byte[8 + content.length];
+        System.arraycopy(new byte[] {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'}, 0, bytes, 0, 8);
+        for (int i = 0; i < content.length; i++) {
+            bytes[8 + i] = (byte) content[i];
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.survivorio.service;
+
+import com.example.survivorio.cache.BoundedCache;
+import com.example.survivorio.dto.SheetType;
+import com.example.survivorio.entity.AppUser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class InvalidationListenerTest {
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private SheetListCache sheetListCache;
+
+    @Mock
+    private TokenDenyList denyList;
+
+    @Mock
+    private SheetEventBroadcaster sheetEvents;
+
+    private final BoundedCache<String, AppUser> sessionCache = new BoundedCache<>(10, Duration.ofMinutes(5));
+    private InvalidationPublisher publisher;
+    private InvalidationListener listener;
+
+    @BeforeEach
+    void setUp() {
+        publisher = new InvalidationPublisher(jdbcTemplate, true);
+        listener = new InvalidationListener(publisher, sessionCache, sheetListCache, denyList, sheetEvents,
+                "jdbc:postgresql://localhost/unused", "", "", false, Duration.ofSeconds(1));
+    }
+
+    @Test
+    void evictsKeysNamedByOtherInstances() {
+        String revoked = AuthService.sessionKey("token-1");
+        String other = AuthService.sessionKey("token-2");
+        sessionCache.put(revoked, new AppUser());
+        sessionCache.put(other, new AppUser());
+
+        listener.handle("peer0001 session " + revoked);
+        listener.handle("peer0001 sheets 4 character");
+        listener.handle("peer0001 token 77");
+
+        assertThat(sessionCache.get(revoked)).isEmpty();
+        assertThat(sessionCache.get(other)).isPresent();
+        verify(sheetListCache).evict(4L, SheetType.CHARACTER);
+        verify(sheetEvents).refresh(4L, SheetType.CHARACTER);
+        verify(denyList).add(77L);
+    }
+
+    @Test
+    void ignoresItsOwnMessages() {
+        sessionCache.put("token-1", new AppUser());
+
+        listener.handle(publisher.origin() + " session token-1");
+        listener.handle(publisher.origin() + " sheets 4 monster");
+
+        assertThat(sessionCache.get("token-1")).isPresent();
+        verify(sheetListCache, never()).evict(4L, SheetType.MONSTER);
+    }
+
+    @Test
+    void ignoresUnknownMessages() {
+        listener.handle("peer0001 shrug 1");
+        listener.handle("garbage");
+
+        verifyNoInteractions(sheetListCache, denyList, sheetEvents);
+    }
+
+    @Test
+    void ignoresMalformedMessagesAndKeepsApplyingLaterOnes() {
+        listener.handle("peer0001 sheets 4");
+        listener.handle("peer0001 sheets four character");
+        listener.handle("peer0001 sheets 4 dragon");
+        listener.handle("peer0001 sheets 4 character extra");
+        listener.handle("peer0001 token");
+        listener.handle("peer0001 token seventy");
+        listener.handle("peer0001 session");
+
+        verifyNoInteractions(sheetListCache, denyList, sheetEvents);
+
+        listener.handle("peer0001 sheets 4 monster");
+        verify(sheetListCache).evict(4L, SheetType.MONSTER);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.survivorio.service;
+
+import com.example.survivorio.dto.SheetType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class InvalidationPublisherTest {
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void notifiesCompactMessagesTaggedWithOrigin() {
+        InvalidationPublisher publisher = new InvalidationPublisher(jdbcTemplate, true);
+
+        publisher.onSheetChanged(SheetChangedEvent.deleted(4L, SheetType.MONSTER, 9L));
+        publisher.onSessionRevoked(new SessionRevokedEvent("abc"));
+        publisher.onTokenRevoked(new TokenRevokedEvent(-12L));
+
+        String origin = publisher.origin();
+        verify(jdbcTemplate).query(anyString(), any(ResultSetExtractor.class),
+                eq(InvalidationPublisher.CHANNEL), eq(origin + " sheets 4 monster"));
+        verify(jdbcTemplate).query(anyString(), any(ResultSetExtractor.class),
+                eq(InvalidationPublisher.CHANNEL), eq(origin + " session abc"));
+        verify(jdbcTemplate).query(anyString(), any(ResultSetExtractor.class),
+                eq(InvalidationPublisher.CHANNEL), eq(origin + " token -12"));
+    }
+
+    @Test
+    void staysQuietWhenDisabled() {
+        new InvalidationPublisher(jdbcTemplate, false).onSessionRevoked(new SessionRevokedEvent("abc"));
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
@@ -1,21 +1,31 @@
 package com.example.survivorio.service;
 
+import com.example.survivorio.dto.SheetBulkRequest;
+import com.example.survivorio.dto.SheetBulkResult;
+import com.example.survivorio.dto.SheetPage;
+import com.example.survivorio.dto.SheetType;
 import com.example.survivorio.entity.AppUser;
 import com.example.survivorio.entity.Monster;
 import com.example.survivorio.repository.MonsterRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -24,11 +34,17 @@ class MonsterServiceTest {
     @Mock
     private MonsterRepository repository;
 
+    @Mock
+    private ImageStore imageStore;
+
+    @Mock
+    private ApplicationEventPublisher events;
+
     private MonsterService monsterService;
 
     @BeforeEach
     void setUp() {
-        monsterService = new MonsterService(repository);
+        monsterService = new MonsterService(repository, imageStore, new ObjectMapper(), events);
     }
 
     @Test
@@ -44,8 +60,57 @@ class MonsterServiceTest {
 
         assertThat(saved.getId()).isNull();
         assertThat(saved.getOwner()).isSameAs(owner);
-        assertThat(saved.getCreatedAt()).isNotBlank();
+        assertThat(saved.getCreatedAt()).isNotNull();
         verify(repository).save(monster);
+        verify(events).publishEvent(any(SheetChangedEvent.class));
+    }
+
+    @Test
+    void getPageReturnsCursorPointingAfterLastItem() {
+        AppUser owner = new AppUser();
+        Monster newest = sheet(3L, "2024-03-01T00:00:00Z");
+        Monster middle = sheet(2L, "2024-02-01T00:00:00Z");
+        Monster oldest = sheet(1L, "2024-01-01T00:00:00Z");
+
+        when(repository.findAllByOwnerOrderByCreatedAtDescIdDesc(owner, Limit.of(3)))
+                .thenReturn(List.of(newest, middle, oldest));
+        when(repository.findPageByOwnerAfter(owner, Instant.parse("2024-02-01T00:00:00Z"), 2L, Limit.of(3)))
+                .thenReturn(List.of(oldest));
+
+        SheetPage<Monster> first = monsterService.getPage(owner, null, 2);
+        SheetPage<Monster> second = monsterService.getPage(owner, first.nextCursor(), 2);
+
+        assertThat(first.items()).containsExactly(newest, middle);
+        assertThat(first.nextCursor()).isNotBlank();
+        assertThat(second.items()).containsExactly(oldest);
+        assertThat(second.nextCursor()).isNull();
+    }
+
+    @Test
+    void getPageBreaksCreatedAtTiesById() {
+        AppUser owner = new AppUser();
+        Monster higher = sheet(6L, "2024-02-01T00:00:00Z");
+        Monster lower = sheet(5L, "2024-02-01T00:00:00Z");
+
+        when(repository.findAllByOwnerOrderByCreatedAtDescIdDesc(owner, Limit.of(2)))
+                .thenReturn(List.of(higher, lower));
+        when(repository.findPageByOwnerAfter(owner, Instant.parse("2024-02-01T00:00:00Z"), 6L, Limit.of(2)))
+                .thenReturn(List.of(lower));
+
+        SheetPage<Monster> first = monsterService.getPage(owner, null, 1);
+        SheetPage<Monster> second = monsterService.getPage(owner, first.nextCursor(), 1);
+
+        assertThat(first.items()).containsExactly(higher);
+        assertThat(second.items()).containsExactly(lower);
+        assertThat(second.nextCursor()).isNull();
+    }
+
+    @Test
+    void getPageRejectsMalformedCursor() {
+        assertThatThrownBy(() -> monsterService.getPage(new AppUser(), "not-a-cursor", 2))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(exception -> ((ResponseStatusException) exception).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
     }
 
     @Test
@@ -66,8 +131,9 @@ class MonsterServiceTest {
 
         when(repository.findByIdAndOwner(5L, owner)).thenReturn(Optional.of(existing));
         when(repository.save(any(Monster.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(imageStore.toReference("data:image/png;base64,monster")).thenReturn("/api/images/monster.png");
 
-        Monster updated = monsterService.update(owner, 5L, data);
+        Monster updated = monsterService.update(owner, 5L, data, null);
 
         assertThat(updated.getName()).isEqualTo("Knight Captain");
         assertThat(updated.getType()).isEqualTo("Humanoid");
@@ -75,7 +141,7 @@ class MonsterServiceTest {
         assertThat(updated.getHitPoints()).isEqualTo(35);
         assertThat(updated.getChallenge()).isEqualTo("2");
         assertThat(updated.getGear()).isEqualTo("Longsword");
-        assertThat(updated.getProfileImage()).isEqualTo("data:image/png;base64,monster");
+        assertThat(updated.getProfileImage()).isEqualTo("/api/images/monster.png");
         assertThat(updated.getOwner()).isSameAs(owner);
         verify(repository).findByIdAndOwner(5L, owner);
     }
@@ -85,12 +151,43 @@ class MonsterServiceTest {
         AppUser owner = new AppUser();
         when(repository.findByIdAndOwner(5L, owner)).thenReturn(Optional.empty());
 
-        assertThatThrownBy(() -> monsterService.update(owner, 5L, new Monster()))
+        assertThatThrownBy(() -> monsterService.update(owner, 5L, new Monster(), null))
                 .isInstanceOf(ResponseStatusException.class)
                 .extracting(exception -> ((ResponseStatusException) exception).getStatusCode())
                 .isEqualTo(HttpStatus.NOT_FOUND);
     }
 
+    @Test
+    void getReturnsNotFoundWhenMonsterDoesNotBelongToUser() {
+        AppUser owner = new AppUser();
+        when(repository.findByIdAndOwner(5L, owner)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> monsterService.get(owner, 5L))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(exception -> ((ResponseStatusException) exception).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void patchOnlyChangesFieldsPresentInPatch() throws Exception {
+        AppUser owner = new AppUser();
+        Monster existing = new Monster();
+        existing.setId(5L);
+        existing.setOwner(owner);
+        existing.setName("Knight Captain");
+        existing.setHitPoints(35);
+        existing.setNotes("Leads the patrol.");
+
+        when(repository.findByIdAndOwner(5L, owner)).thenReturn(Optional.of(existing));
+        when(repository.save(any(Monster.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Monster patched = monsterService.patch(owner, 5L, new ObjectMapper().readTree("{\"hitPoints\": 20}"), null);
+
+        assertThat(patched.getHitPoints()).isEqualTo(20);
+        assertThat(patched.getName()).isEqualTo("Knight Captain");
+        assertThat(patched.getNotes()).isEqualTo("Leads the patrol.");
+    }
+
     @Test
     void deleteOnlyRemovesMonsterOwnedByCurrentUser() {
         AppUser owner = new AppUser();
@@ -100,9 +197,27 @@ class MonsterServiceTest {
 
         when(repository.findByIdAndOwner(5L, owner)).thenReturn(Optional.of(existing));
 
-        monsterService.delete(owner, 5L);
+        monsterService.delete(owner, 5L, null);
 
         verify(repository).delete(existing);
+        verify(events).publishEvent(SheetChangedEvent.deleted(null, SheetType.MONSTER, 5L));
+    }
+
+    @Test
+    void deleteRejectsStaleVersion() {
+        AppUser owner = new AppUser();
+        Monster existing = new Monster();
+        existing.setId(5L);
+        existing.setOwner(owner);
+        existing.setVersion(2L);
+
+        when(repository.findByIdAndOwner(5L, owner)).thenReturn(Optional.of(existing));
+
+        assertThatThrownBy(() -> monsterService.delete(owner, 5L, 1L))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(exception -> ((ResponseStatusException) exception).getStatusCode())
+                .isEqualTo(HttpStatus.PRECONDITION_FAILED);
+        verify(repository, never()).delete(any());
     }
 
     @Test
@@ -110,9 +225,86 @@ class MonsterServiceTest {
         AppUser owner = new AppUser();
         when(repository.findByIdAndOwner(5L, owner)).thenReturn(Optional.empty());
 
-        assertThatThrownBy(() -> monsterService.delete(owner, 5L))
+        assertThatThrownBy(() -> monsterService.delete(owner, 5L, null))
                 .isInstanceOf(ResponseStatusException.class)
                 .extracting(exception -> ((ResponseStatusException) exception).getStatusCode())
                 .isEqualTo(HttpStatus.NOT_FOUND);
     }
+
+    @Test
+    void bulkAppliesCreatesUpdatesAndDeletesTogether() {
+        AppUser owner = new AppUser();
+        Monster created = new Monster();
+        created.setId(42L);
+        created.setName("Goblin Boss");
+        Monster changes = new Monster();
+        changes.setId(5L);
+        changes.setName("Knight Captain");
+        Monster existing = sheet(5L, "2024-01-01T00:00:00Z");
+        Monster doomed = sheet(6L, "2024-01-02T00:00:00Z");
+
+        when(repository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(repository.findAllByOwnerAndIdIn(owner, List.of(5L))).thenReturn(List.of(existing));
+        when(repository.findAllByOwnerAndIdIn(owner, List.of(6L))).thenReturn(List.of(doomed));
+
+        SheetBulkResult<Monster> result = monsterService.bulk(
+                owner, new SheetBulkRequest<>(List.of(created), List.of(changes), List.of(6L)));
+
+        assertThat(result.created()).singleElement().satisfies(monster -> {
+            assertThat(monster.getId()).isNull();
+            assertThat(monster.getOwner()).isSameAs(owner);
+            assertThat(monster.getCreatedAt()).isNotNull();
+        });
+        assertThat(result.updated()).singleElement().extracting(Monster::getName).isEqualTo("Knight Captain");
+        assertThat(result.deleted()).isEqualTo(1);
+        verify(repository).deleteAll(List.of(doomed));
+        verify(events).publishEvent(SheetChangedEvent.bulk(null, SheetType.MONSTER));
+    }
+
+    @Test
+    void bulkRejectsStaleVersionBeforeDeleting() {
+        AppUser owner = new AppUser();
+        Monster existing = sheet(5L, "2024-01-01T00:00:00Z");
+        existing.setVersion(2L);
+        Monster changes = new Monster();
+        changes.setId(5L);
+        changes.setVersion(1L);
+
+        when(repository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(repository.findAllByOwnerAndIdIn(owner, List.of(5L))).thenReturn(List.of(existing));
+
+        assertThatThrownBy(() -> monsterService.bulk(owner, new SheetBulkRequest<>(null, List.of(changes), List.of(6L))))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(exception -> ((ResponseStatusException) exception).getStatusCode())
+                .isEqualTo(HttpStatus.PRECONDITION_FAILED);
+        verify(repository, never()).deleteAll(any());
+        verify(events, never()).publishEvent(any());
+    }
+
+    @Test
+    void bulkReturnsNotFoundWhenAnyMonsterDoesNotBelongToUser() {
+        AppUser owner = new AppUser();
+        when(repository.findAllByOwnerAndIdIn(owner, List.of(5L, 6L))).thenReturn(List.of(sheet(5L, "2024-01-01T00:00:00Z")));
+
+        assertThatThrownBy(() -> monsterService.bulk(owner, new SheetBulkRequest<>(null, null, List.of(5L, 6L))))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(exception -> ((ResponseStatusException) exception).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_FOUND);
+        verify(repository, never()).deleteAll(any());
+    }
+
+    @Test
+    void bulkRejectsMissingMonsterId() {
+        assertThatThrownBy(() -> monsterService.bulk(new AppUser(), new SheetBulkRequest<>(null, List.of(new Monster()), null)))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(exception -> ((ResponseStatusException) exception).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    private Monster sheet(Long id, String createdAt) {
+        Monster monster = new Monster();
+        monster.setId(id);
+        monster.setCreatedAt(Instant.parse(createdAt));
+        return monster;
+    }
 }
@@ -0,0 +1,80 @@
+package com.example.survivorio.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHasherTest {
+    private final PasswordHasher passwordHasher = new PasswordHasher(2, 4, Duration.ofSeconds(10));
+
+    @AfterEach
+    void tearDown() {
+        passwordHasher.shutdown();
+    }
+
+    @Test
+    void verifiesPasswordAgainstItsOwnHash() {
+        String hash = passwordHasher.hash("secret");
+
+        assertThat(hash).startsWith("120000:").doesNotContain("secret");
+        assertThat(passwordHasher.verify("secret", hash)).isTrue();
+        assertThat(passwordHasher.verify("wrong", hash)).isFalse();
+    }
+
+    @Test
+    void rejectsMalformedStoredHash() {
+        assertThat(passwordHasher.verify("secret", "not-a-hash")).isFalse();
+    }
+
+    @Test
+    void recordsHashTimings() {
+        passwordHasher.hash("secret");
+
+        assertThat(passwordHasher.completedHashes()).isEqualTo(1);
+        assertThat(passwordHasher.totalHashNanos()).isPositive();
+        assertThat(passwordHasher.maxHashNanos()).isPositive();
+        assertThat(passwordHasher.queueDepth()).isZero();
+    }
+
+    @Test
+    void rejectsHashesWithServiceUnavailableOnceTheQueueIsFull() throws Exception {
+        PasswordHasher saturated = new PasswordHasher(1, 1, Duration.ofSeconds(30));
+        String slowHash = "2000000:" + Base64.getEncoder().encodeToString(new byte[16])
+                + ":" + Base64.getEncoder().encodeToString(new byte[32]);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            callers.submit(() -> saturated.verify("secret", slowHash));
+            awaitUntil(() -> saturated.activeHashes() == 1);
+            callers.submit(() -> saturated.verify("secret", slowHash));
+            awaitUntil(() -> saturated.queueDepth() == 1);
+
+            assertThatThrownBy(() -> saturated.hash("secret"))
+                    .isInstanceOf(ResponseStatusException.class)
+                    .extracting(exception -> ((ResponseStatusException) exception).getStatusCode())
+                    .isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+            assertThat(saturated.rejectedHashes()).isEqualTo(1);
+        } finally {
+            callers.shutdownNow();
+            saturated.shutdown();
+        }
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+}
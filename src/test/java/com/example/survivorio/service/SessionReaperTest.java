@@ -0,0 +1,48 @@
+package com.example.survivorio.service;
+
+import com.example.survivorio.repository.AuthSessionRepository;
+import com.example.survivorio.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SessionReaperTest {
+    @Mock
+    private AuthSessionRepository sessionRepository;
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Test
+    void deletesBatchesUntilOneComesBackShort() {
+        when(sessionRepository.deleteExpiredBatch(any(), eq(100))).thenReturn(100, 100, 42);
+        SessionReaper reaper = new SessionReaper(sessionRepository, revokedTokenRepository, 100, 10);
+
+        reaper.reap();
+
+        verify(sessionRepository, times(3)).deleteExpiredBatch(any(), eq(100));
+        assertThat(reaper.purgedSessions()).isEqualTo(242);
+        assertThat(reaper.reaperRuns()).isEqualTo(1);
+        verify(revokedTokenRepository).deleteExpired(any());
+    }
+
+    @Test
+    void stopsAfterMaxBatchesPerRun() {
+        when(sessionRepository.deleteExpiredBatch(any(), eq(10))).thenReturn(10);
+        SessionReaper reaper = new SessionReaper(sessionRepository, revokedTokenRepository, 10, 3);
+
+        reaper.reap();
+
+        verify(sessionRepository, times(3)).deleteExpiredBatch(any(), eq(10));
+        assertThat(reaper.purgedSessions()).isEqualTo(30);
+    }
+}
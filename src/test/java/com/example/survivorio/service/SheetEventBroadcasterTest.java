@@ -0,0 +1,63 @@
+package com.example.survivorio.service;
+
+import com.example.survivorio.dto.SheetType;
+import com.example.survivorio.entity.Character;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SheetEventBroadcasterTest {
+    private final SheetEventBroadcaster broadcaster =
+            new SheetEventBroadcaster(Duration.ofMinutes(1), Duration.ofMinutes(1), 2);
+
+    @AfterEach
+    void tearDown() throws Exception {
+        broadcaster.shutdown();
+    }
+
+    @Test
+    void tracksSubscribersPerOwner() {
+        broadcaster.subscribe(1L);
+        broadcaster.subscribe(1L);
+        broadcaster.subscribe(2L);
+
+        assertThat(broadcaster.subscriberCount()).isEqualTo(3);
+        assertThat(broadcaster.subscriberCount(1L)).isEqualTo(2);
+        assertThat(broadcaster.subscriberCount(3L)).isZero();
+    }
+
+    @Test
+    void rejectsStreamsBeyondThePerOwnerLimit() {
+        broadcaster.subscribe(1L);
+        broadcaster.subscribe(1L);
+
+        assertThatThrownBy(() -> broadcaster.subscribe(1L))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(exception -> ((ResponseStatusException) exception).getStatusCode())
+                .isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(broadcaster.subscriberCount(1L)).isEqualTo(2);
+        assertThat(broadcaster.subscribe(2L)).isNotNull();
+    }
+
+    @Test
+    void broadcastsWithoutSubscribersOrAfterCompletion() throws Exception {
+        Character character = new Character();
+        broadcaster.subscribe(1L).complete();
+
+        assertThatCode(() -> {
+            broadcaster.onSheetChanged(SheetChangedEvent.created(9L, SheetType.CHARACTER, 5L, character));
+            broadcaster.onSheetChanged(SheetChangedEvent.updated(1L, SheetType.CHARACTER, 5L, character));
+            broadcaster.refresh(1L, SheetType.MONSTER);
+            broadcaster.heartbeat();
+        }).doesNotThrowAnyException();
+        broadcaster.shutdown();
+        assertThat(broadcaster.subscriberCount(1L)).isZero();
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.survivorio.service;
+
+import com.example.survivorio.cache.BoundedCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SheetEventTicketsTest {
+    private static final String SECRET = Base64.getEncoder().encodeToString(new byte[32]);
+
+    private final SheetEventTickets tickets = instance(Duration.ofSeconds(30));
+
+    @Test
+    void ticketsAreSingleUsePerInstance() {
+        String ticket = tickets.issue(7L);
+
+        assertThat(tickets.redeem(ticket)).isEqualTo(7L);
+        assertThatThrownBy(() -> tickets.redeem(ticket))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(exception -> ((ResponseStatusException) exception).getStatusCode())
+                .isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    void ticketsIssuedByOneInstanceRedeemOnAnother() {
+        String ticket = tickets.issue(7L);
+
+        assertThat(instance(Duration.ofSeconds(30)).redeem(ticket)).isEqualTo(7L);
+    }
+
+    @Test
+    void rejectsExpiredTickets() {
+        String ticket = instance(Duration.ofSeconds(-1)).issue(7L);
+
+        assertThatThrownBy(() -> tickets.redeem(ticket)).isInstanceOf(ResponseStatusException.class);
+    }
+
+    @Test
+    void rejectsForgedTicketsAndSessionTokens() {
+        SignedTokenCodec codec = new SignedTokenCodec(SECRET);
+        String sessionToken = codec.issue(7L, "Hero", Instant.now().plusSeconds(60));
+
+        assertThat(tickets.issue(7L)).isNotEqualTo(tickets.issue(7L));
+        assertThatThrownBy(() -> tickets.redeem("not-a-ticket")).isInstanceOf(ResponseStatusException.class);
+        assertThatThrownBy(() -> tickets.redeem(sessionToken)).isInstanceOf(ResponseStatusException.class);
+        assertThat(codec.verify(tickets.issue(7L))).isEmpty();
+    }
+
+    private static SheetEventTickets instance(Duration ttl) {
+        return new SheetEventTickets(new SignedTokenCodec(SECRET), new BoundedCache<>(10, Duration.ofSeconds(30)), ttl);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.survivorio.service;
+
+import com.example.survivorio.dto.SheetType;
+import com.example.survivorio.entity.Character;
+import com.example.survivorio.entity.Monster;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SheetJsonWriterTest {
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ImageStore imageStore;
+    private SheetJsonWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        imageStore = new ImageStore(directory.toString(), "", event -> {
+        });
+        writer = new SheetJsonWriter(objectMapper, imageStore);
+    }
+
+    @Test
+    void writesSheetTypeBeforeEntityFields() throws Exception {
+        Character character = new Character();
+        character.setId(1L);
+        character.setName("Mira");
+        Monster monster = new Monster();
+        monster.setId(2L);
+        monster.setName("Bandit Captain");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = writer.createGenerator(out)) {
+            generator.writeStartArray();
+            writer.write(generator, SheetType.CHARACTER, character);
+            writer.write(generator, SheetType.MONSTER, monster);
+            generator.writeEndArray();
+        }
+
+        JsonNode records = objectMapper.readTree(out.toByteArray());
+        assertThat(records).hasSize(2);
+        assertThat(records.get(0).fieldNames().next()).isEqualTo("sheetType");
+        assertThat(records.get(0).path("sheetType").asText()).isEqualTo("character");
+        assertThat(records.get(0).path("name").asText()).isEqualTo("Mira");
+        assertThat(records.get(0).has("profileThumbnail")).isFalse();
+        assertThat(records.get(1).path("sheetType").asText()).isEqualTo("monster");
+        assertThat(records.get(1).path("id").asLong()).isEqualTo(2L);
+    }
+
+    @Test
+    void addsThumbnailReferenceOnceAvailable() throws Exception {
+        String reference = imageStore.store(new byte[] {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n', 1}, "image/png");
+        String hash = ImageStore.contentHash(reference.substring(ImageStore.REFERENCE_PATH.length()));
+        imageStore.storeThumbnail(hash, ThumbnailGenerator.LIST_SIZE, "jpg", new byte[] {4});
+        Character character = new Character();
+        character.setProfileImage(reference);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = writer.createGenerator(out)) {
+            writer.write(generator, SheetType.CHARACTER, character);
+        }
+
+        JsonNode record = objectMapper.readTree(out.toByteArray());
+        assertThat(record.path("profileImage").asText()).isEqualTo(reference);
+        assertThat(record.path("profileThumbnail").asText()).endsWith("-" + ThumbnailGenerator.LIST_SIZE + ".jpg");
+    }
+
+    @Test
+    void plainMapperOutputIsUnchanged() throws Exception {
+        Character character = new Character();
+        character.setName("Mira");
+
+        assertThat(objectMapper.valueToTree(character).has("sheetType")).isFalse();
+    }
+}
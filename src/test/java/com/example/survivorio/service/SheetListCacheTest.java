@@ -0,0 +1,256 @@
+package com.example.survivorio.service;
+
+import com.example.survivorio.cache.BoundedCache;
+import com.example.survivorio.dto.SheetType;
+import com.example.survivorio.entity.AppUser;
+import com.example.survivorio.entity.Character;
+import com.example.survivorio.entity.Monster;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class SheetListCacheTest {
+    @TempDir
+    Path directory;
+
+    @Mock
+    private CharacterService characterService;
+
+    @Mock
+    private MonsterService monsterService;
+
+    @Mock
+    private SheetVersionService sheetVersions;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final AppUser owner = new AppUser();
+    private BoundedCache<SheetListCache.Key, JsonSnapshot> snapshots;
+    private SheetJsonWriter sheetJsonWriter;
+    private SheetListCache cache;
+
+    @BeforeEach
+    void setUp() {
+        owner.setId(5L);
+        snapshots = new BoundedCache<>(100, 1_000_000, JsonSnapshot::sizeInBytes, Duration.ofMinutes(10));
+        ImageStore imageStore = new ImageStore(directory.toString(), "", event -> {
+        });
+        sheetJsonWriter = new SheetJsonWriter(objectMapper, imageStore);
+        cache = new SheetListCache(snapshots, characterService, monsterService, sheetJsonWriter, sheetVersions, DataSize.ofKilobytes(64), Runnable::run);
+    }
+
+    @Test
+    void servesRepeatedReadsOfSameVersionFromMemory() throws Exception {
+        currentVersion(3);
+        stubCharacters();
+
+        byte[] first = write(plain(SheetType.CHARACTER, 3));
+        byte[] second = write(plain(SheetType.CHARACTER, 3));
+
+        assertThat(second).isEqualTo(first);
+        verify(characterService, times(1)).forEach(eq(owner), any());
+        assertThat(snapshots.stats().hits()).isEqualTo(1);
+        assertThat(snapshots.weight()).isEqualTo(first.length - 2);
+
+        JsonNode array = objectMapper.readTree(first);
+        assertThat(array).hasSize(2);
+        assertThat(array.get(1).path("name").asText()).isEqualTo("Aelar");
+        assertThat(array.get(0).has("sheetType")).isFalse();
+    }
+
+    @Test
+    void streamsListsTooLargeToCacheWithoutKeepingThem() throws Exception {
+        stubCharacters();
+        cache = new SheetListCache(snapshots, characterService, monsterService, sheetJsonWriter, sheetVersions, DataSize.ofBytes(16), Runnable::run);
+
+        byte[] first = write(plain(SheetType.CHARACTER, 3));
+        byte[] second = write(plain(SheetType.CHARACTER, 3));
+
+        assertThat(objectMapper.readTree(first)).hasSize(2);
+        assertThat(second).isEqualTo(first);
+        assertThat(snapshots.size()).isZero();
+        verify(characterService, times(2)).forEach(eq(owner), any());
+    }
+
+    @Test
+    void newVersionAndChangeEventsForceReload() throws Exception {
+        currentVersion(4);
+        stubCharacters();
+
+        write(plain(SheetType.CHARACTER, 3));
+        write(plain(SheetType.CHARACTER, 4));
+        verify(characterService, times(2)).forEach(eq(owner), any());
+
+        cache.onSheetChanged(SheetChangedEvent.bulk(5L, SheetType.CHARACTER));
+        assertThat(snapshots.size()).isZero();
+
+        write(plain(SheetType.CHARACTER, 4));
+        verify(characterService, times(3)).forEach(eq(owner), any());
+    }
+
+    @Test
+    void changeEventsLeaveOtherOwnersAndTypesCached() throws Exception {
+        currentVersion(1);
+        stubCharacters();
+
+        write(plain(SheetType.CHARACTER, 1));
+        write(plain(SheetType.MONSTER, 1));
+
+        cache.onSheetChanged(SheetChangedEvent.deleted(5L, SheetType.MONSTER, 9L));
+        cache.onSheetChanged(SheetChangedEvent.deleted(6L, SheetType.CHARACTER, 9L));
+
+        assertThat(snapshots.size()).isEqualTo(1);
+    }
+
+    @Test
+    void recordListsConcatenateIntoOneTaggedArray() throws Exception {
+        currentVersion(1);
+        stubCharacters();
+
+        doAnswer(invocation -> {
+            SheetSink<Object> sink = invocation.getArgument(1);
+            Monster monster = new Monster();
+            monster.setId(3L);
+            monster.setName("Owlbear");
+            sink.accept(monster);
+            return null;
+        }).when(monsterService).forEach(eq(owner), any());
+
+        SheetListCache.Key characters = SheetListCache.key(owner, SheetType.CHARACTER, SheetListCache.Format.RECORD, 1);
+        SheetListCache.Key monsters = SheetListCache.key(owner, SheetType.MONSTER, SheetListCache.Format.RECORD, 1);
+        byte[] streamed = write(characters, monsters);
+        byte[] cached = write(characters, monsters);
+
+        JsonNode array = objectMapper.readTree(streamed);
+        assertThat(array).hasSize(3);
+        assertThat(array.get(0).path("sheetType").asText()).isEqualTo("character");
+        assertThat(array.get(2).path("sheetType").asText()).isEqualTo("monster");
+        assertThat(cached).isEqualTo(streamed);
+    }
+
+    @Test
+    void emptyListsStillFormValidArrays() throws Exception {
+        currentVersion(1);
+        stubCharacters();
+        SheetListCache.Key characters = SheetListCache.key(owner, SheetType.CHARACTER, SheetListCache.Format.RECORD, 1);
+        SheetListCache.Key monsters = SheetListCache.key(owner, SheetType.MONSTER, SheetListCache.Format.RECORD, 1);
+
+        assertThat(new String(write(monsters, monsters))).isEqualTo("[]");
+        byte[] streamed = write(monsters, characters, monsters);
+        byte[] cached = write(monsters, characters, monsters);
+
+        assertThat(objectMapper.readTree(streamed)).hasSize(2);
+        assertThat(cached).isEqualTo(streamed);
+    }
+
+    @Test
+    void preloadFetchesMissingListsConcurrently() throws Exception {
+        currentVersion(1);
+        CyclicBarrier bothRunning = new CyclicBarrier(2);
+        doAnswer(invocation -> {
+            bothRunning.await(5, TimeUnit.SECONDS);
+            SheetSink<Object> sink = invocation.getArgument(1);
+            sink.accept(character(1L, "Mira"));
+            return null;
+        }).when(characterService).forEach(eq(owner), any());
+        doAnswer(invocation -> {
+            bothRunning.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(monsterService).forEach(eq(owner), any());
+        ExecutorService loader = Executors.newFixedThreadPool(2);
+        cache = new SheetListCache(snapshots, characterService, monsterService, sheetJsonWriter, sheetVersions, DataSize.ofKilobytes(64), loader);
+        SheetListCache.Key characters = SheetListCache.key(owner, SheetType.CHARACTER, SheetListCache.Format.RECORD, 1);
+        SheetListCache.Key monsters = SheetListCache.key(owner, SheetType.MONSTER, SheetListCache.Format.RECORD, 1);
+
+        try {
+            cache.preload(owner, characters, monsters);
+        } finally {
+            loader.shutdownNow();
+        }
+        byte[] written = write(characters, monsters);
+
+        assertThat(objectMapper.readTree(written)).hasSize(1);
+        assertThat(snapshots.stats().hits()).isEqualTo(2);
+        verify(characterService, times(1)).forEach(eq(owner), any());
+        verify(monsterService, times(1)).forEach(eq(owner), any());
+    }
+
+    @Test
+    void preloadSkipsListsTooLargeToCacheAndLeavesThemToStream() throws Exception {
+        currentVersion(1);
+        stubCharacters();
+        cache = new SheetListCache(snapshots, characterService, monsterService, sheetJsonWriter, sheetVersions, DataSize.ofBytes(16), Runnable::run);
+        SheetListCache.Key characters = SheetListCache.key(owner, SheetType.CHARACTER, SheetListCache.Format.RECORD, 1);
+        SheetListCache.Key monsters = SheetListCache.key(owner, SheetType.MONSTER, SheetListCache.Format.RECORD, 1);
+
+        cache.preload(owner, characters, monsters);
+
+        assertThat(snapshots.contains(characters)).isFalse();
+        assertThat(snapshots.contains(monsters)).isTrue();
+        assertThat(objectMapper.readTree(write(characters, monsters))).hasSize(2);
+    }
+
+    @Test
+    void listsChangedDuringTheirWalkAreStreamedButNotKept() throws Exception {
+        stubCharacters();
+        currentVersion(4);
+
+        byte[] first = write(plain(SheetType.CHARACTER, 3));
+        cache.preload(owner, plain(SheetType.CHARACTER, 3), plain(SheetType.MONSTER, 3));
+
+        assertThat(objectMapper.readTree(first)).hasSize(2);
+        assertThat(snapshots.size()).isZero();
+    }
+
+    private void stubCharacters() throws Exception {
+        doAnswer(invocation -> {
+            SheetSink<Object> sink = invocation.getArgument(1);
+            sink.accept(character(1L, "Mira"));
+            sink.accept(character(2L, "Aelar"));
+            return null;
+        }).when(characterService).forEach(eq(owner), any());
+    }
+
+    private void currentVersion(long version) {
+        lenient().when(sheetVersions.current(eq(owner), any())).thenReturn(version);
+    }
+
+    private SheetListCache.Key plain(SheetType sheetType, long version) {
+        return SheetListCache.key(owner, sheetType, SheetListCache.Format.PLAIN, version);
+    }
+
+    private byte[] write(SheetListCache.Key... lists) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        cache.writeArray(out, owner, lists);
+        return out.toByteArray();
+    }
+
+    private static Character character(Long id, String name) {
+        Character character = new Character();
+        character.setId(id);
+        character.setName(name);
+        return character;
+    }
+}
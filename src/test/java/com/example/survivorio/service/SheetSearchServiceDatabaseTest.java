@@ -0,0 +1,131 @@
+package com.example.survivorio.service;
+
+import com.example.survivorio.dto.SheetPage;
+import com.example.survivorio.dto.SheetSearchHit;
+import com.example.survivorio.entity.AppUser;
+import com.example.survivorio.entity.Character;
+import com.example.survivorio.entity.Monster;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SheetSearchService.class)
+class SheetSearchServiceDatabaseTest {
+    private static final EmbeddedPostgres POSTGRES = start();
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @MockitoBean
+    private ImageStore imageStore;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private SheetSearchService searchService;
+
+    private AppUser owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = user("searcher");
+    }
+
+    @Test
+    void ranksNameMatchesAboveJournalMatchesAcrossBothTables() {
+        character(owner, "Tower Warden", null);
+        character(owner, "Mira", "We camped below the tower.");
+        monster(owner, "Tower Golem", "construct", null);
+        monster(owner, "Owlbear", "beast", null);
+        character(user("someone-else"), "Tower Thief", null);
+        entityManager.flush();
+
+        SheetPage<SheetSearchHit> page = searchService.search(owner, "tower", null, 10);
+
+        assertThat(page.items()).extracting(SheetSearchHit::name)
+                .containsExactlyInAnyOrder("Tower Warden", "Mira", "Tower Golem");
+        assertThat(page.items().get(2).name()).isEqualTo("Mira");
+        assertThat(page.items().get(0).rank()).isGreaterThan(page.items().get(2).rank());
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void cursorWalksEveryHitExactlyOnce() {
+        for (int i = 0; i < 7; i++) {
+            character(owner, "Scout " + i, null);
+            monster(owner, "Scout beast " + i, "beast", null);
+        }
+        entityManager.flush();
+
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            SheetPage<SheetSearchHit> page = searchService.search(owner, "scout", cursor, 4);
+            page.items().forEach(hit -> seen.add(hit.sheetType() + ":" + hit.id()));
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(4);
+        assertThat(seen).hasSize(14).doesNotHaveDuplicates();
+    }
+
+    private AppUser user(String username) {
+        AppUser user = new AppUser();
+        user.setUsername(username);
+        user.setPasswordHash("hash");
+        user.setCreatedAt(Instant.now());
+        return entityManager.persist(user);
+    }
+
+    private void character(AppUser owner, String name, String journal) {
+        Character character = new Character();
+        character.setOwner(owner);
+        character.setName(name);
+        character.setJournal(journal);
+        character.setCreatedAt(Instant.now());
+        entityManager.persist(character);
+    }
+
+    private void monster(AppUser owner, String name, String type, String notes) {
+        Monster monster = new Monster();
+        monster.setOwner(owner);
+        monster.setName(name);
+        monster.setType(type);
+        monster.setNotes(notes);
+        monster.setCreatedAt(Instant.now());
+        entityManager.persist(monster);
+    }
+
+    private static EmbeddedPostgres start() {
+        try {
+            return EmbeddedPostgres.builder().start();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.survivorio.service;
+
+import com.example.survivorio.dto.SheetPage;
+import com.example.survivorio.dto.SheetSearchHit;
+import com.example.survivorio.entity.AppUser;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.hibernate.query.NativeQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SheetSearchServiceTest {
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ImageStore imageStore;
+
+    private final AppUser owner = new AppUser();
+    private SheetSearchService searchService;
+
+    @BeforeEach
+    void setUp() {
+        owner.setId(4L);
+        searchService = new SheetSearchService(entityManager, imageStore);
+    }
+
+    @Test
+    void returnsRankedHitsWithThumbnailsAndNextCursor() {
+        NativeQuery<?> query = nativeQuery(List.of(
+                row("CHARACTER", 7L, "Mira", "/api/images/mira.png", 0.9),
+                row("MONSTER", 3L, "Owlbear", null, 0.5),
+                row("CHARACTER", 2L, "Aelar", null, 0.1)
+        ));
+        when(imageStore.thumbnail(anyString(), anyInt())).thenReturn(Optional.of("/api/images/mira-96.jpg"));
+        when(imageStore.thumbnail(null, ThumbnailGenerator.LIST_SIZE)).thenReturn(Optional.empty());
+
+        SheetPage<SheetSearchHit> page = searchService.search(owner, " tower ", null, 2);
+
+        assertThat(page.items()).extracting(SheetSearchHit::sheetType).containsExactly("character", "monster");
+        assertThat(page.items().get(0).profileImage()).isEqualTo("/api/images/mira-96.jpg");
+        assertThat(page.nextCursor()).isNotBlank();
+        verify(query).setParameter("query", "tower");
+        verify(query).setParameter("ownerId", 4L);
+        verify(query).setParameter("limit", 3);
+        verify(query, never()).setParameter(eq("rank"), any());
+    }
+
+    @Test
+    void cursorContinuesAfterTheLastHitOfThePreviousPage() {
+        NativeQuery<?> first = nativeQuery(List.of(
+                row("CHARACTER", 7L, "Mira", null, 0.9),
+                row("CHARACTER", 6L, "Lia", null, 0.8),
+                row("MONSTER", 3L, "Owlbear", null, 0.5)
+        ));
+        when(imageStore.thumbnail(null, ThumbnailGenerator.LIST_SIZE)).thenReturn(Optional.empty());
+        String cursor = searchService.search(owner, "tower", null, 2).nextCursor();
+
+        searchService.search(owner, "tower", cursor, 2);
+
+        verify(first).setParameter("rank", 0.8f);
+        verify(first).setParameter("sheetType", "CHARACTER");
+        verify(first).setParameter("id", 6L);
+        verify(entityManager).createNativeQuery(contains("rank < :rank"));
+    }
+
+    @Test
+    void rejectsBlankAndOverlongQueries() {
+        assertThatThrownBy(() -> searchService.search(owner, "  ", null, 10))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(exception -> ((ResponseStatusException) exception).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThatThrownBy(() -> searchService.search(owner, "x".repeat(SheetSearchService.MAX_QUERY_LENGTH + 1), null, 10))
+                .isInstanceOf(ResponseStatusException.class);
+        verify(entityManager, never()).createNativeQuery(anyString());
+    }
+
+    @Test
+    void rejectsMalformedCursor() {
+        assertThatThrownBy(() -> searchService.search(owner, "tower", "not-a-cursor!", 10))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(exception -> ((ResponseStatusException) exception).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private NativeQuery<?> nativeQuery(List<Object[]> rows) {
+        Query query = mock(Query.class);
+        NativeQuery nativeQuery = mock(NativeQuery.class, RETURNS_SELF);
+        when(entityManager.createNativeQuery(anyString())).thenReturn(query);
+        when(query.unwrap(NativeQuery.class)).thenReturn(nativeQuery);
+        when(nativeQuery.getResultList()).thenReturn((List) rows);
+        return nativeQuery;
+    }
+
+    private static Object[] row(String sheetType, Long id, String name, String profileImage, double rank) {
+        return new Object[] {sheetType, id, name, profileImage, Instant.parse("2024-01-01T00:00:00Z"), rank};
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.survivorio.service;
+
+import com.example.survivorio.dto.SheetType;
+import com.example.survivorio.entity.AppUser;
+import com.example.survivorio.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SheetVersionServiceTest {
+    @Mock
+    private UserRepository userRepository;
+
+    private SheetVersionService sheetVersionService;
+
+    @BeforeEach
+    void setUp() {
+        sheetVersionService = new SheetVersionService(userRepository);
+    }
+
+    @Test
+    void currentReadsVersionForSheetType() {
+        AppUser owner = new AppUser();
+        owner.setId(3L);
+        when(userRepository.findCharactersVersion(3L)).thenReturn(Optional.of(12L));
+        when(userRepository.findMonstersVersion(3L)).thenReturn(Optional.empty());
+
+        assertThat(sheetVersionService.current(owner, SheetType.CHARACTER)).isEqualTo(12L);
+        assertThat(sheetVersionService.current(owner, SheetType.MONSTER)).isZero();
+    }
+
+    @Test
+    void sheetChangeBumpsOnlyThatCollection() {
+        sheetVersionService.onSheetChanged(SheetChangedEvent.deleted(3L, SheetType.MONSTER, 9L));
+
+        verify(userRepository).incrementMonstersVersion(3L);
+        verify(userRepository, never()).incrementCharactersVersion(3L);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.survivorio.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SignedTokenCodecTest {
+    private static final String SECRET = Base64.getEncoder().encodeToString(new byte[32]);
+
+    private final SignedTokenCodec codec = new SignedTokenCodec(SECRET);
+
+    @Test
+    void roundTripsClaims() {
+        Instant expiresAt = Instant.now().plus(1, ChronoUnit.DAYS).truncatedTo(ChronoUnit.SECONDS);
+
+        SignedToken token = codec.verify(codec.issue(42L, "H\u00e9r\u00f6", expiresAt)).orElseThrow();
+
+        assertThat(token.userId()).isEqualTo(42L);
+        assertThat(token.username()).isEqualTo("H\u00e9r\u00f6");
+        assertThat(token.expiresAt()).isEqualTo(expiresAt);
+    }
+
+    @Test
+    void issuesDistinctTokenIds() {
+        Instant expiresAt = Instant.now().plusSeconds(60);
+
+        long first = codec.verify(codec.issue(1L, "Hero", expiresAt)).orElseThrow().tokenId();
+        long second = codec.verify(codec.issue(1L, "Hero", expiresAt)).orElseThrow().tokenId();
+
+        assertThat(first).isNotEqualTo(second);
+    }
+
+    @Test
+    void rejectsTamperedPayload() {
+        String token = codec.issue(1L, "Hero", Instant.now().plusSeconds(60));
+        String forged = new SignedTokenCodec(SECRET).issue(2L, "Villain", Instant.now().plusSeconds(60));
+        String spliced = forged.substring(0, forged.indexOf('.')) + token.substring(token.indexOf('.'));
+
+        assertThat(codec.verify(spliced)).isEmpty();
+    }
+
+    @Test
+    void rejectsTokensSignedWithAnotherKey() {
+        SignedTokenCodec other = new SignedTokenCodec(Base64.getEncoder().encodeToString(new byte[] {
+                1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16,
+                17, 18, 19, 20, 21, 22, 23, 24, 25, 26, 27, 28, 29, 30, 31, 32
+        }));
+
+        assertThat(codec.verify(other.issue(1L, "Hero", Instant.now().plusSeconds(60)))).isEmpty();
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        assertThat(codec.verify("not-a-token")).isEmpty();
+        assertThat(codec.verify("a.b.c")).isEmpty();
+        assertThat(codec.verify("!!!.???")).isEmpty();
+    }
+
+    @Test
+    void rejectsShortSecretsOnFirstUse() {
+        SignedTokenCodec shortSecret = new SignedTokenCodec(Base64.getEncoder().encodeToString(new byte[8]));
+
+        assertThatThrownBy(() -> shortSecret.issue(1L, "Hero", Instant.now().plusSeconds(60)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.survivorio.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ThumbnailGeneratorTest {
+    @TempDir
+    Path directory;
+
+    private ImageStore imageStore;
+    private ThumbnailGenerator generator;
+
+    @BeforeEach
+    void setUp() {
+        imageStore = new ImageStore(directory.toString(), "", event -> {
+        });
+        generator = new ThumbnailGenerator(imageStore, 1, 4, 1_000_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        generator.shutdown();
+    }
+
+    @Test
+    void opaqueImagesBecomeJpegThumbnailsThatFitTheBox() throws Exception {
+        String reference = imageStore.store(png(new BufferedImage(800, 400, BufferedImage.TYPE_INT_RGB)), "image/png");
+        String name = reference.substring(ImageStore.REFERENCE_PATH.length());
+
+        generator.generate(name, imageStore.resolve(name).orElseThrow());
+
+        String thumbnail = imageStore.thumbnail(reference, ThumbnailGenerator.LIST_SIZE).orElseThrow();
+        assertThat(thumbnail).endsWith("-" + ThumbnailGenerator.LIST_SIZE + ".jpg");
+        BufferedImage scaled = ImageIO.read(imageStore.resolve(thumbnail.substring(ImageStore.REFERENCE_PATH.length())).orElseThrow().toFile());
+        assertThat(scaled.getWidth()).isEqualTo(ThumbnailGenerator.LIST_SIZE);
+        assertThat(scaled.getHeight()).isEqualTo(ThumbnailGenerator.LIST_SIZE / 2);
+    }
+
+    @Test
+    void transparentImagesKeepTheirAlphaChannel() throws Exception {
+        String reference = imageStore.store(png(new BufferedImage(50, 50, BufferedImage.TYPE_INT_ARGB)), "image/png");
+        String name = reference.substring(ImageStore.REFERENCE_PATH.length());
+
+        generator.generate(name, imageStore.resolve(name).orElseThrow());
+
+        assertThat(imageStore.thumbnail(reference, ThumbnailGenerator.LIST_SIZE)).hasValueSatisfying(
+                thumbnail -> assertThat(thumbnail).endsWith(".png"));
+    }
+
+    @Test
+    void largeImagesAreSubsampledBeforeScaling() throws Exception {
+        String reference = imageStore.store(png(new BufferedImage(1600, 400, BufferedImage.TYPE_INT_RGB)), "image/png");
+        String name = reference.substring(ImageStore.REFERENCE_PATH.length());
+
+        generator.generate(name, imageStore.resolve(name).orElseThrow());
+
+        String thumbnail = imageStore.thumbnail(reference, 256).orElseThrow();
+        BufferedImage scaled = ImageIO.read(imageStore.resolve(thumbnail.substring(ImageStore.REFERENCE_PATH.length())).orElseThrow().toFile());
+        assertThat(scaled.getWidth()).isEqualTo(256);
+        assertThat(scaled.getHeight()).isEqualTo(64);
+    }
+
+    @Test
+    void imagesAboveThePixelLimitAreNotDecoded() throws Exception {
+        String reference = imageStore.store(png(new BufferedImage(1200, 1000, BufferedImage.TYPE_INT_RGB)), "image/png");
+        String name = reference.substring(ImageStore.REFERENCE_PATH.length());
+
+        generator.generate(name, imageStore.resolve(name).orElseThrow());
+
+        assertThat(imageStore.thumbnail(reference, ThumbnailGenerator.LIST_SIZE)).isEmpty();
+    }
+
+    @Test
+    void undecodableImagesAreLeftWithoutThumbnails() {
+        String reference = imageStore.store("RIFF\0\0\0\0WEBPVP8 ".getBytes(), "image/webp");
+        String name = reference.substring(ImageStore.REFERENCE_PATH.length());
+
+        generator.generate(name, imageStore.resolve(name).orElseThrow());
+
+        assertThat(imageStore.thumbnail(reference, ThumbnailGenerator.LIST_SIZE)).isEmpty();
+    }
+
+    private static byte[] png(BufferedImage image) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
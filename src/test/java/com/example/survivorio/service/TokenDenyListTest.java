@@ -0,0 +1,60 @@
+package com.example.survivorio.service;
+
+import com.example.survivorio.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TokenDenyListTest {
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Test
+    void syncReplacesEntriesWithActiveRevocations() {
+        when(revokedTokenRepository.findActiveTokenIds(any())).thenReturn(List.of(30L, -5L, 12L));
+        TokenDenyList denyList = new TokenDenyList(revokedTokenRepository, AuthMode.SIGNED);
+
+        denyList.sync();
+
+        assertThat(denyList.contains(-5L)).isTrue();
+        assertThat(denyList.contains(12L)).isTrue();
+        assertThat(denyList.contains(30L)).isTrue();
+        assertThat(denyList.contains(13L)).isFalse();
+        assertThat(denyList.size()).isEqualTo(3);
+    }
+
+    @Test
+    void revokeStoresAndKeepsEntriesSorted() {
+        TokenDenyList denyList = new TokenDenyList(revokedTokenRepository, AuthMode.SIGNED);
+        Instant expiresAt = Instant.now().plusSeconds(60);
+
+        denyList.revoke(9L, expiresAt);
+        denyList.revoke(3L, expiresAt);
+        denyList.revoke(6L, expiresAt);
+        denyList.revoke(6L, expiresAt);
+
+        verify(revokedTokenRepository).revoke(3L, expiresAt);
+        assertThat(denyList.size()).isEqualTo(3);
+        assertThat(denyList.contains(3L)).isTrue();
+        assertThat(denyList.contains(6L)).isTrue();
+        assertThat(denyList.contains(9L)).isTrue();
+    }
+
+    @Test
+    void syncIsSkippedInSessionMode() {
+        new TokenDenyList(revokedTokenRepository, AuthMode.SESSION).sync();
+
+        verify(revokedTokenRepository, never()).findActiveTokenIds(any());
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.survivorio.simulation;
+
+import com.example.survivorio.dice.DiceExpression;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AttacksTest {
+    @Test
+    void readsWeaponWithDamageBonus() {
+        assertThat(Attacks.bestRoutine("Longsword +4 (1d8+2)"))
+                .containsExactly(new Attack(4, dice("1d8+2")));
+    }
+
+    @Test
+    void expandsCountsAndJoinsAttacksMadeInTheSameRound() {
+        assertThat(Attacks.bestRoutine("ATK 2 claw +3 (1d6) and 1 bite +5 (2d4 - 1)"))
+                .containsExactly(new Attack(3, dice("1d6")), new Attack(3, dice("1d6")), new Attack(5, dice("2d4-1")));
+    }
+
+    @Test
+    void picksTheAlternativeWithTheMostExpectedDamage() {
+        assertThat(Attacks.bestRoutine("Dagger +2 (1d4)\nGreataxe +3 (1d12+1) or spear +3 (1d6)"))
+                .containsExactly(new Attack(3, dice("1d12+1")));
+    }
+
+    @Test
+    void readsCompoundDamageAndStopsAtDescriptions() {
+        assertThat(Attacks.bestRoutine("Flame tongue +5 (2d6 + 1d4 fire + 2)"))
+                .containsExactly(new Attack(5, dice("2d6+1d4")));
+    }
+
+    @Test
+    void ignoresTextWithoutDice() {
+        assertThat(Attacks.bestRoutine("Spells: see notes")).isEmpty();
+        assertThat(Attacks.bestRoutine(null)).isEmpty();
+    }
+
+    private static DiceExpression dice(String notation) {
+        return DiceExpression.parse(notation);
+    }
+}
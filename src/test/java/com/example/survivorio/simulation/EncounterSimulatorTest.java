@@ -0,0 +1,100 @@
+package com.example.survivorio.simulation;
+
+import com.example.survivorio.dto.CombatantOutcome;
+import com.example.survivorio.dto.EncounterResult;
+import com.example.survivorio.entity.Character;
+import com.example.survivorio.entity.Monster;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.assertj.core.api.Assertions.within;
+
+class EncounterSimulatorTest {
+    private final EncounterSimulator simulator = new EncounterSimulator(4, Duration.ofSeconds(30));
+
+    @AfterEach
+    void tearDown() {
+        simulator.shutdown();
+    }
+
+    @Test
+    void overwhelmingPartyAlmostAlwaysWins() {
+        Encounter encounter = Encounter.of(
+                List.of(character(1L, 60, 18, "Greatsword +8 (2d6+4)")),
+                List.of(monster(2L, 4, 10, "Bite +0 (1d4)"))
+        );
+
+        EncounterResult result = simulator.simulate(encounter, 5_000, 20, new SplittableRandom(7));
+
+        assertThat(result.trials()).isEqualTo(5_000);
+        assertThat(result.truncated()).isFalse();
+        assertThat(result.partyWinRate()).isGreaterThan(0.99);
+        assertThat(result.partyWinRate() + result.monsterWinRate() + result.drawRate()).isCloseTo(1.0, within(1e-9));
+        assertThat(result.roundsP50()).isBetween(1, 2);
+        assertThat(result.monsterHpRemaining()[0]).isGreaterThan(0.99);
+        assertThat(Arrays.stream(result.partyHpRemaining()).sum()).isCloseTo(1.0, within(1e-9));
+        assertThat(result.combatants())
+                .extracting(CombatantOutcome::sheetType, CombatantOutcome::id)
+                .containsExactly(
+                        tuple("character", 1L),
+                        tuple("monster", 2L)
+                );
+    }
+
+    @Test
+    void seededRunsAreReproducible() {
+        Encounter encounter = Encounter.of(
+                List.of(character(1L, 12, 14, "Longsword +3 (1d8+1)"), character(3L, 8, 12, "Shortbow +2 (1d6)")),
+                List.of(monster(2L, 20, 13, "2 claw +4 (1d6+2)"))
+        );
+
+        EncounterResult first = simulator.simulate(encounter, 20_000, 50, new SplittableRandom(42));
+        EncounterResult second = simulator.simulate(encounter, 20_000, 50, new SplittableRandom(42));
+
+        assertThat(first.partyWinRate()).isEqualTo(second.partyWinRate());
+        assertThat(first.expectedRounds()).isEqualTo(second.expectedRounds());
+        assertThat(first.partyHpRemaining()).containsExactly(second.partyHpRemaining());
+        assertThat(first.partyWinRate()).isBetween(0.01, 0.99);
+    }
+
+    @Test
+    void roundLimitEndsInADraw() {
+        Encounter encounter = Encounter.of(
+                List.of(character(1L, 500, 30, "Stick +0 (1d2)")),
+                List.of(monster(2L, 500, 30, "Twig +0 (1d2)"))
+        );
+
+        EncounterResult result = simulator.simulate(encounter, 1_000, 3, new SplittableRandom(1));
+
+        assertThat(result.drawRate()).isEqualTo(1.0);
+        assertThat(result.roundsP90()).isEqualTo(3);
+    }
+
+    private static Character character(Long id, int hp, int ac, String attacks) {
+        Character character = new Character();
+        character.setId(id);
+        character.setName("Hero " + id);
+        character.setHp(hp);
+        character.setAc(ac);
+        character.setDex(12);
+        character.setAttacks(attacks);
+        return character;
+    }
+
+    private static Monster monster(Long id, int hitPoints, int armorClass, String attacks) {
+        Monster monster = new Monster();
+        monster.setId(id);
+        monster.setName("Monster " + id);
+        monster.setHitPoints(hitPoints);
+        monster.setArmorClass(armorClass);
+        monster.setAttacks(attacks);
+        return monster;
+    }
+}